@@ -0,0 +1,72 @@
+package timesheet.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import timesheet.employee.TimesheetController;
+import timesheet.employee.dao.TimesheetEntry;
+
+/**
+ * /saveTimesheet on the second period of a month whose first period is
+ * already in, so the casual-leave tracker branch runs: one save books a
+ * casual leave day, the next clears it again, which keeps the data steady
+ * across iterations. Scores are per save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CasualLeaveBenchmark {
+
+	private static final String CASUAL_LEAVE = "Casual Leave";
+	private static final String LEAVE_CELL = "1_" + (SyntheticData.DAYS_PER_PERIOD + 1);
+
+	@Param({ "100", "1000", "10000" })
+	public int employees;
+
+	private ConfigurableApplicationContext context;
+	private TimesheetController timesheetController;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedApp.start(employees);
+		timesheetController = context.getBean(TimesheetController.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public void bookAndClearCasualLeave(Blackhole bh) {
+		String username = SyntheticData.username(ThreadLocalRandom.current().nextInt(employees));
+		bh.consume(timesheetController.saveTimesheet(List.of(leaveCell(username, "9"))).getBody());
+		bh.consume(timesheetController.saveTimesheet(List.of(leaveCell(username, null))).getBody());
+	}
+
+	private static TimesheetEntry leaveCell(String username, String hours) {
+		return new TimesheetEntry(username, SyntheticData.PERIOD_2, CASUAL_LEAVE, LEAVE_CELL, hours);
+	}
+}
@@ -0,0 +1,66 @@
+package timesheet.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import timesheet.emails.EmailTemplates;
+import timesheet.emails.dao.EmailModel;
+
+/**
+ * Renders 10k payslip-approved and assignment emails per invocation, the
+ * month-end burst the email templates have to absorb. Scores are per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+	private static final int MESSAGES = 10_000;
+
+	private EmailTemplates templates;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		templates = new EmailTemplates();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public void payslipApproved(Blackhole bh) {
+		for (int i = 0; i < MESSAGES; i++) {
+			bh.consume(templates.render(new EmailModel.PayslipApproved("employee" + i, "2025-03")));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public void assignment(Blackhole bh) {
+		for (int i = 0; i < MESSAGES; i++) {
+			bh.consume(templates.render(new EmailModel.Assignment("employee" + i, "TDS-" + i, "Month-end support")));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(MESSAGES)
+	public void logoPart(Blackhole bh) {
+		for (int i = 0; i < MESSAGES; i++) {
+			bh.consume(templates.logo());
+		}
+	}
+}
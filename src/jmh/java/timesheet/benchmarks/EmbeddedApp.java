@@ -0,0 +1,41 @@
+package timesheet.benchmarks;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import timesheet.TimeSheetApplication;
+
+/**
+ * Starts the whole application against an in-memory H2 database in MySQL
+ * mode and seeds it with {@link SyntheticData}, so benchmarks call the real
+ * controllers and services. application.properties is not read
+ * (spring.config.name points elsewhere); everything the benchmarks need is set
+ * here and the rest falls back to the @Value defaults.
+ */
+final class EmbeddedApp {
+
+	private EmbeddedApp() {
+	}
+
+	static ConfigurableApplicationContext start(int employees) {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(TimeSheetApplication.class)
+				.properties(
+						"spring.config.name=benchmark",
+						"spring.main.banner-mode=off",
+						"logging.level.root=WARN",
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:bench" + employees
+								+ ";MODE=MySQL;NON_KEYWORDS=YEAR,MONTH,VALUE;DB_CLOSE_DELAY=-1",
+						"spring.datasource.driver-class-name=org.h2.Driver",
+						"spring.datasource.username=sa",
+						"spring.datasource.password=",
+						"spring.jpa.hibernate.ddl-auto=create",
+						"spring.jpa.open-in-view=false",
+						"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+						"spring.mail.host=localhost")
+				.run();
+		SyntheticData.seed(context, employees);
+		return context;
+	}
+}
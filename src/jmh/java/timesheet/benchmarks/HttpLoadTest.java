@@ -0,0 +1,143 @@
+package timesheet.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against /saveTimesheet and /approve: every simulated user
+ * alternates a save and an approval for the same period until time is up, and
+ * latency percentiles are reported per endpoint. Run it once against a node
+ * started normally and once against one started with the virtual profile,
+ * with the same data, and compare the p99 lines:
+ *
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=virtual
+ *   mvn -Pbenchmarks test-compile exec:exec -Dbench.main=timesheet.benchmarks.HttpLoadTest \
+ *       -Dbench.args="http://localhost:8088 500 120 alice,bob,carol"
+ *
+ * Arguments: base URL, concurrent users, seconds, comma-separated usernames
+ * (cycled over the users; each needs an allowed-leaves row, and a submitted
+ * timesheet for the period if /approve should succeed), optional charge code.
+ */
+public class HttpLoadTest {
+
+	private static final DateTimeFormatter PERIOD_FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8088";
+		int users = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+		String[] usernames = (args.length > 3 ? args[3] : "loadtest").split(",");
+		String chargeCode = args.length > 4 ? args[4] : "LOADTEST";
+		String period = currentPeriod(LocalDate.now());
+
+		HttpClient client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+
+		Endpoint save = new Endpoint("/saveTimesheet");
+		Endpoint approve = new Endpoint("/approve");
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		CountDownLatch done = new CountDownLatch(users);
+
+		System.out.printf("%d users for %d s against %s, period %s%n", users, seconds, baseUrl, period);
+		try (ExecutorService simulated = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int u = 0; u < users; u++) {
+				String username = usernames[u % usernames.length].trim();
+				simulated.submit(() -> {
+					try {
+						while (System.nanoTime() < deadline) {
+							save.call(client, baseUrl, saveBody(username, period, chargeCode));
+							approve.call(client, baseUrl,
+									"{\"username\":\"" + username + "\",\"period\":\"" + period + "\"}");
+						}
+					} finally {
+						done.countDown();
+					}
+				});
+			}
+			done.await();
+		}
+
+		save.report(seconds);
+		approve.report(seconds);
+	}
+
+	// The UI's half-month periods: 1st-15th and 16th-end of month
+	static String currentPeriod(LocalDate today) {
+		LocalDate start = today.getDayOfMonth() <= 15 ? today.withDayOfMonth(1) : today.withDayOfMonth(16);
+		LocalDate end = today.getDayOfMonth() <= 15 ? today.withDayOfMonth(15)
+				: today.withDayOfMonth(today.lengthOfMonth());
+		return start.format(PERIOD_FMT) + " - " + end.format(PERIOD_FMT);
+	}
+
+	private static String saveBody(String username, String period, String chargeCode) {
+		StringBuilder body = new StringBuilder("[");
+		for (int col = 1; col <= 5; col++) {
+			if (col > 1)
+				body.append(',');
+			body.append("{\"username\":\"").append(username)
+					.append("\",\"period\":\"").append(period)
+					.append("\",\"chargeCode\":\"").append(chargeCode)
+					.append("\",\"cellIndex\":\"0_").append(col)
+					.append("\",\"hours\":\"9\"}");
+		}
+		return body.append(']').toString();
+	}
+
+	private static final class Endpoint {
+
+		private final String path;
+		private final List<Long> micros = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicLong errors = new AtomicLong();
+
+		Endpoint(String path) {
+			this.path = path;
+		}
+
+		void call(HttpClient client, String baseUrl, String json) {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(Duration.ofSeconds(30))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(json))
+					.build();
+			long t0 = System.nanoTime();
+			try {
+				HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() >= 500)
+					errors.incrementAndGet();
+			} catch (Exception e) {
+				errors.incrementAndGet();
+			}
+			micros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - t0));
+		}
+
+		void report(int seconds) {
+			List<Long> sorted = new ArrayList<>(micros);
+			Collections.sort(sorted);
+			System.out.printf("%-15s n=%d (%.0f/s) errors=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n", path,
+					sorted.size(), sorted.size() / (double) seconds, errors.get(), percentile(sorted, 50),
+					percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 100));
+		}
+
+		private static double percentile(List<Long> sorted, int p) {
+			if (sorted.isEmpty())
+				return 0;
+			int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+			return sorted.get(Math.min(Math.max(index, 0), sorted.size() - 1)) / 1000.0;
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package timesheet.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import timesheet.payroll.PayslipPdfRenderer;
+import timesheet.payroll.dao.ApprovedPayslip;
+
+/**
+ * Payslip rendering throughput: one PDF per call (the /PayslipDownload path)
+ * and a whole month written as a ZIP or a merged PDF (the bulk export path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayslipPdfBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int employees;
+
+	private PayslipPdfRenderer renderer;
+	private List<ApprovedPayslip> payslips;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		renderer = new PayslipPdfRenderer();
+		payslips = new ArrayList<>();
+		for (int i = 0; i < employees; i++) {
+			payslips.add(payslip(i));
+		}
+	}
+
+	@Benchmark
+	public int singlePayslip() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		renderer.render(payslips.get(0), out);
+		return out.size();
+	}
+
+	@Benchmark
+	public void bulkZip() throws Exception {
+		try (ZipOutputStream zip = new ZipOutputStream(OutputStream.nullOutputStream())) {
+			for (ApprovedPayslip payslip : payslips) {
+				zip.putNextEntry(new ZipEntry("Payslip-" + payslip.getUsername() + ".pdf"));
+				renderer.render(payslip, zip);
+				zip.closeEntry();
+			}
+		}
+	}
+
+	@Benchmark
+	public void bulkMergedPdf() throws Exception {
+		Document document = new Document();
+		PdfWriter.getInstance(document, OutputStream.nullOutputStream());
+		document.open();
+		for (int i = 0; i < payslips.size(); i++) {
+			if (i > 0)
+				document.newPage();
+			renderer.addPayslip(document, payslips.get(i));
+		}
+		document.close();
+	}
+
+	private static ApprovedPayslip payslip(int i) {
+		ApprovedPayslip p = new ApprovedPayslip();
+		p.setUsername("employee" + i);
+		p.setMonth("2025-03");
+		p.setOnboardDate("2023-06-12");
+		p.setDesignation("Software Engineer");
+		p.setStdWorkDays(31);
+		p.setTotalWorkingDays(29);
+		p.setTotalLeaves(1);
+		p.setLop(1.0);
+		p.setBasicSalary(45000.0 + i);
+		p.setDeductions(1451.61);
+		p.setNetPay(43548.39 + i);
+		p.setAccountHolder("Employee " + i);
+		p.setBankName("State Bank of India");
+		p.setAccountNumber("00000000" + i);
+		p.setLocation("Salem");
+		p.setSalaryProcessAt("2025-04-01: 10:30");
+		p.setApprovedAt("2025-04-01: 10:30");
+		return p;
+	}
+}
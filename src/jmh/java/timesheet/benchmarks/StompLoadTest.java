@@ -0,0 +1,135 @@
+package timesheet.benchmarks;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * Opens N simulated SockJS/STOMP clients against a running node, subscribes
+ * each to /topic/adminNotifications, holds them for a while with heartbeats
+ * on, and reports connect latency, how many stayed connected and how many
+ * messages arrived. Trigger notifications (e.g. submit timesheets) while it
+ * runs to measure fan-out.
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec -Dbench.main=timesheet.benchmarks.StompLoadTest \
+ *       -Dbench.args="http://localhost:8088/ws 2000 60"
+ *
+ * Arguments: endpoint URL, number of clients, seconds to hold the connections.
+ */
+public class StompLoadTest {
+
+	private static final int MAX_CONCURRENT_HANDSHAKES = 200;
+
+	public static void main(String[] args) throws Exception {
+		String url = args.length > 0 ? args[0] : "http://localhost:8088/ws";
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int holdSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+		ThreadPoolTaskScheduler heartbeats = new ThreadPoolTaskScheduler();
+		heartbeats.setPoolSize(4);
+		heartbeats.initialize();
+
+		WebSocketStompClient stompClient = new WebSocketStompClient(
+				new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+		stompClient.setMessageConverter(new StringMessageConverter());
+		stompClient.setTaskScheduler(heartbeats);
+		stompClient.setDefaultHeartbeat(new long[] { 10000, 10000 });
+
+		AtomicInteger connected = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		AtomicInteger dropped = new AtomicInteger();
+		AtomicLong received = new AtomicLong();
+		List<Long> connectMillis = Collections.synchronizedList(new ArrayList<>());
+		List<StompSession> sessions = Collections.synchronizedList(new ArrayList<>());
+
+		Semaphore handshakes = new Semaphore(MAX_CONCURRENT_HANDSHAKES);
+		ExecutorService launcher = Executors.newFixedThreadPool(16);
+		List<CompletableFuture<Void>> connects = new ArrayList<>();
+		long started = System.nanoTime();
+
+		for (int i = 0; i < clients; i++) {
+			connects.add(CompletableFuture.runAsync(() -> {
+				long t0 = System.nanoTime();
+				try {
+					handshakes.acquire();
+					StompSession session = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {
+						@Override
+						public void handleTransportError(StompSession s, Throwable exception) {
+							dropped.incrementAndGet();
+						}
+					}).get(30, TimeUnit.SECONDS);
+					session.subscribe("/topic/adminNotifications", new StompFrameHandler() {
+						@Override
+						public Type getPayloadType(StompHeaders headers) {
+							return String.class;
+						}
+
+						@Override
+						public void handleFrame(StompHeaders headers, Object payload) {
+							received.incrementAndGet();
+						}
+					});
+					sessions.add(session);
+					connected.incrementAndGet();
+					connectMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+				} catch (Exception e) {
+					failed.incrementAndGet();
+				} finally {
+					handshakes.release();
+				}
+			}, launcher));
+		}
+		CompletableFuture.allOf(connects.toArray(new CompletableFuture[0])).join();
+		long rampMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+		System.out.printf("connected %d/%d in %d ms (failed %d)%n", connected.get(), clients, rampMs, failed.get());
+		System.out.printf("connect latency ms: p50=%d p95=%d p99=%d max=%d%n", percentile(connectMillis, 50),
+				percentile(connectMillis, 95), percentile(connectMillis, 99), percentile(connectMillis, 100));
+
+		for (int s = 0; s < holdSeconds; s++) {
+			Thread.sleep(1000);
+			if ((s + 1) % 10 == 0)
+				System.out.printf("t+%ds: live=%d dropped=%d messages=%d%n", s + 1,
+						sessions.stream().filter(StompSession::isConnected).count(), dropped.get(), received.get());
+		}
+
+		long live = sessions.stream().filter(StompSession::isConnected).count();
+		System.out.printf("held %d s: live=%d dropped=%d messages received=%d%n", holdSeconds, live, dropped.get(),
+				received.get());
+
+		for (StompSession session : sessions) {
+			session.disconnect();
+		}
+		launcher.shutdown();
+		stompClient.stop();
+		heartbeats.shutdown();
+	}
+
+	private static long percentile(List<Long> values, int p) {
+		if (values.isEmpty())
+			return 0;
+		List<Long> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.min(Math.max(index, 0), sorted.size() - 1));
+	}
+}
@@ -0,0 +1,73 @@
+package timesheet.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import timesheet.employee.dao.SummaryEntry;
+
+/**
+ * SummaryEntry to and from JSON for a month of approvals (two periods per
+ * employee), with an ObjectMapper configured the way Spring MVC builds its own.
+ * Scores are per whole list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryEntryJsonBenchmark {
+
+	private static final TypeReference<List<SummaryEntry>> SUMMARY_LIST = new TypeReference<>() {
+	};
+
+	@Param({ "100", "1000", "10000" })
+	public int employees;
+
+	private ObjectMapper mapper;
+	private List<SummaryEntry> summaries;
+	private byte[] json;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+		summaries = new ArrayList<>();
+		for (int i = 0; i < employees; i++) {
+			String username = SyntheticData.username(i);
+			for (String period : List.of(SyntheticData.PERIOD_1, SyntheticData.PERIOD_2)) {
+				SummaryEntry entry = new SummaryEntry(username, period, SyntheticData.approvedTotals(), "Approved");
+				entry.setId((long) summaries.size() + 1);
+				summaries.add(entry);
+			}
+		}
+		json = mapper.writeValueAsBytes(summaries);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return mapper.writeValueAsBytes(summaries);
+	}
+
+	@Benchmark
+	public List<SummaryEntry> deserialize() throws Exception {
+		return mapper.readValue(json, SUMMARY_LIST);
+	}
+}
@@ -0,0 +1,112 @@
+package timesheet.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationContext;
+
+import timesheet.admin.dao.AllowedLeaves;
+import timesheet.admin.dao.CasualLeaveTracker;
+import timesheet.admin.dao.Employeedao;
+import timesheet.admin.repo.EmployeeBatchRepository;
+import timesheet.admin.repo.LeaveScaffoldBatchRepository;
+import timesheet.employee.dao.SummaryEntry;
+import timesheet.employee.dao.TimesheetEntry;
+import timesheet.employee.repo.SummaryRepository;
+import timesheet.employee.repo.TimesheetBatchRepository;
+
+/**
+ * A month of data for N employees: both half-month timesheets filled with
+ * project hours, both periods approved, allowed-leave and casual-leave tracker
+ * rows. Leave codes are left out so the leave ledger starts consistent (empty).
+ */
+final class SyntheticData {
+
+	static final String MONTH = "2025-03";
+	static final int YEAR = 2025;
+	static final int MONTH_OF_YEAR = 3;
+	static final String PERIOD_1 = "01/03/2025 - 15/03/2025";
+	static final String PERIOD_2 = "16/03/2025 - 31/03/2025";
+
+	static final int DAYS_PER_PERIOD = 11;
+	static final int PROJECTS = 50;
+	private static final int CHUNK = 1000;
+
+	private SyntheticData() {
+	}
+
+	static String username(int i) {
+		return "emp" + i;
+	}
+
+	static Map<String, Object> approvedTotals() {
+		Map<String, Object> totals = new HashMap<>();
+		totals.put("totalHours", DAYS_PER_PERIOD * 9.0);
+		totals.put("totalAbsences", 0.0);
+		totals.put("totallop", 0.0);
+		totals.put("casualLeaveDays", 0.0);
+		totals.put("sickLeaveDays", 0.0);
+		totals.put("paidLeaveDays", 0.0);
+		totals.put("floating", 0.0);
+		totals.put("totalExpense", 0.0);
+		totals.put("entries", List.of(Map.of("chargeCode", "PRJ-1", "hours", String.valueOf(DAYS_PER_PERIOD * 9.0))));
+		return totals;
+	}
+
+	static void seed(ApplicationContext context, int employees) {
+		EmployeeBatchRepository employeeRows = context.getBean(EmployeeBatchRepository.class);
+		LeaveScaffoldBatchRepository leaveRows = context.getBean(LeaveScaffoldBatchRepository.class);
+		TimesheetBatchRepository timesheetRows = context.getBean(TimesheetBatchRepository.class);
+		SummaryRepository summaryRepository = context.getBean(SummaryRepository.class);
+
+		// /getSummary reads this year's allowance, /saveTimesheet the period's
+		int currentYear = LocalDate.now().getYear();
+
+		for (int start = 0; start < employees; start += CHUNK) {
+			int end = Math.min(start + CHUNK, employees);
+			List<Employeedao> people = new ArrayList<>();
+			List<AllowedLeaves> allowed = new ArrayList<>();
+			List<CasualLeaveTracker> trackers = new ArrayList<>();
+			List<TimesheetEntry> cells = new ArrayList<>();
+			List<SummaryEntry> summaries = new ArrayList<>();
+
+			for (int i = start; i < end; i++) {
+				String username = username(i);
+				people.add(employee(username));
+				allowed.add(new AllowedLeaves(username, YEAR));
+				if (currentYear != YEAR)
+					allowed.add(new AllowedLeaves(username, currentYear));
+				trackers.add(new CasualLeaveTracker(username, YEAR, MONTH_OF_YEAR));
+
+				String project = "PRJ-" + (i % PROJECTS);
+				for (String period : List.of(PERIOD_1, PERIOD_2)) {
+					for (int day = 1; day <= DAYS_PER_PERIOD; day++) {
+						cells.add(new TimesheetEntry(username, period, project, "0_" + day, "9"));
+					}
+					summaries.add(new SummaryEntry(username, period, approvedTotals(), "Approved"));
+				}
+			}
+
+			employeeRows.insertAll(people);
+			leaveRows.insertAllowedLeaves(allowed);
+			leaveRows.insertTrackers(trackers);
+			timesheetRows.insertAll(cells);
+			summaryRepository.saveAll(summaries);
+		}
+	}
+
+	private static Employeedao employee(String username) {
+		Employeedao employee = new Employeedao();
+		employee.seteName(username);
+		employee.seteMail(username + "@bench.local");
+		employee.setePassword("bench");
+		employee.setE_Role("Employee");
+		employee.setDesignation("Engineer");
+		employee.setOnboard("2024-01-10");
+		employee.applyOnboardingDefaults();
+		return employee;
+	}
+}
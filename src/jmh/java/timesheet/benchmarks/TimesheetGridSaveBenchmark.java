@@ -0,0 +1,125 @@
+package timesheet.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import timesheet.employee.dao.TimesheetEntry;
+import timesheet.employee.repo.TimesheetRepository;
+import timesheet.employee.service.TimesheetService;
+
+/**
+ * A full first-half grid (rows x 15 days) saved the old way, one lookup and
+ * one save or delete per cell, against the current diff-and-batch
+ * TimesheetService.saveOrUpdateTimesheet. Each invocation saves two grids for
+ * one employee: the first rewrites the project row and fills the other rows,
+ * the second rewrites the project row again and blanks the others, so both
+ * paths see updates, inserts and deletes and the data stays steady. Scores are
+ * per grid save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimesheetGridSaveBenchmark {
+
+	private static final int DAYS = 15;
+
+	@Param({ "1000", "10000" })
+	public int employees;
+
+	@Param({ "5", "20" })
+	public int rows;
+
+	private ConfigurableApplicationContext context;
+	private TimesheetService timesheetService;
+	private TimesheetRepository timesheetRepository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedApp.start(employees);
+		timesheetService = context.getBean(TimesheetService.class);
+		timesheetRepository = context.getBean(TimesheetRepository.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public void perCellSave() {
+		int employee = randomEmployee();
+		perCellSave(grid(employee, "8", "1"));
+		perCellSave(grid(employee, "9", null));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(2)
+	public void batchedDiffSave(Blackhole bh) {
+		int employee = randomEmployee();
+		bh.consume(timesheetService.saveOrUpdateTimesheet(grid(employee, "8", "1")));
+		bh.consume(timesheetService.saveOrUpdateTimesheet(grid(employee, "9", null)));
+	}
+
+	// saveOrUpdateTimesheet as it was before grids were diffed and batched
+	private void perCellSave(List<TimesheetEntry> grid) {
+		for (TimesheetEntry entry : grid) {
+			Optional<TimesheetEntry> existing = timesheetRepository
+					.findByUsernameAndPeriodAndCellIndex(entry.getUsername(), entry.getPeriod(), entry.getCellIndex());
+			boolean blank = entry.getHours() == null || entry.getHours().trim().isEmpty();
+
+			if (existing.isPresent()) {
+				if (blank) {
+					timesheetRepository.delete(existing.get());
+				} else {
+					existing.get().setChargeCode(entry.getChargeCode());
+					existing.get().setHours(entry.getHours());
+					timesheetRepository.save(existing.get());
+				}
+			} else if (!blank) {
+				timesheetRepository.save(entry);
+			}
+		}
+	}
+
+	// Row 0 is the employee's seeded project row; the other rows carry further projects
+	private List<TimesheetEntry> grid(int employee, String projectHours, String otherHours) {
+		String username = SyntheticData.username(employee);
+		List<TimesheetEntry> grid = new ArrayList<>(rows * DAYS);
+		for (int row = 0; row < rows; row++) {
+			String chargeCode = "PRJ-" + ((employee + row) % SyntheticData.PROJECTS);
+			for (int day = 1; day <= DAYS; day++) {
+				grid.add(new TimesheetEntry(username, SyntheticData.PERIOD_1, chargeCode, row + "_" + day,
+						row == 0 ? projectHours : otherHours));
+			}
+		}
+		return grid;
+	}
+
+	private int randomEmployee() {
+		return ThreadLocalRandom.current().nextInt(employees);
+	}
+}
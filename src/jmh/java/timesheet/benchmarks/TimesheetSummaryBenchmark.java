@@ -0,0 +1,72 @@
+package timesheet.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import timesheet.employee.TimesheetController;
+import timesheet.payroll.MonthlySummaryService;
+
+/**
+ * Per-employee month-end reads and writes against the embedded database:
+ * /getSummary for a half-month period (timesheet aggregation, expenses,
+ * working days, leave balance) and MonthlySummaryService.generateMonthlySummary
+ * (two approved periods into one monthly_summary upsert). A random employee
+ * is picked each call, so the dataset size shows up as index depth and cache
+ * misses rather than as work per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimesheetSummaryBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int employees;
+
+	private ConfigurableApplicationContext context;
+	private TimesheetController timesheetController;
+	private MonthlySummaryService monthlySummaryService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedApp.start(employees);
+		timesheetController = context.getBean(TimesheetController.class);
+		monthlySummaryService = context.getBean(MonthlySummaryService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object getSummary() {
+		return timesheetController.getSummary(randomEmployee(), SyntheticData.PERIOD_1).getBody();
+	}
+
+	@Benchmark
+	public Object generateMonthlySummary() {
+		return monthlySummaryService.generateMonthlySummary(randomEmployee(), SyntheticData.MONTH).getBody();
+	}
+
+	private String randomEmployee() {
+		return SyntheticData.username(ThreadLocalRandom.current().nextInt(employees));
+	}
+}
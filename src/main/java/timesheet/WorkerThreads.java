@@ -0,0 +1,35 @@
+package timesheet;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Worker pools for email delivery, notification pushes, payroll runs and the
+ * leave rollover. With spring.threads.virtual.enabled=true (the virtual
+ * profile) the workers are virtual threads, like Tomcat's request threads and
+ * the @Scheduled jobs in that mode. Pools keep their configured size either
+ * way, so they never hold more database connections at once than before.
+ */
+@Component
+public class WorkerThreads {
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtual;
+
+	public ExecutorService fixedPool(String name, int threads) {
+		return Executors.newFixedThreadPool(Math.max(1, threads), factory(name));
+	}
+
+	public ThreadFactory factory(String name) {
+		return virtual ? Thread.ofVirtual().name(name + "-", 0).factory()
+				: Thread.ofPlatform().name(name + "-", 0).factory();
+	}
+
+	public boolean isVirtual() {
+		return virtual;
+	}
+}
@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.transaction.Transactional;
@@ -28,6 +31,7 @@ import timesheet.admin.repo.CodeRepo;
 import timesheet.admin.repo.ExpenseRepo;
 import timesheet.admin.repo.HolidayRepo;
 import timesheet.admin.service.ChargeCodeService;
+import timesheet.admin.service.ReferenceDataCache;
 
 @Component
 @RestController
@@ -48,6 +52,9 @@ public class CodeController {
 	@Autowired
 	private HolidayRepo holidayrepo;
 
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
 	@PostMapping("/addChargeCode")
 	public String addChargeCode(@RequestBody Map<String, String> requestData) {
 
@@ -68,14 +75,15 @@ public class CodeController {
 		}
 
 		codeRepository.save(newCode);
+		referenceDataCache.invalidateChargeCodes();
 
 		return "Charge Code added successfully!";
 	}
 
 	@GetMapping("/getChargecodes")
-	public ResponseEntity<List<Codedao>> getCodes() {
-		List<Codedao> Code = codeRepository.findAll();
-		return ResponseEntity.ok(Code);
+	public ResponseEntity<List<Codedao>> getCodes(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return cached(referenceDataCache.chargeCodes(), ifNoneMatch);
 	}
 
 	@PutMapping("/completeChargeCode/{id}")
@@ -92,6 +100,7 @@ public class CodeController {
 
 				chargeCode.setStatus("Complete");
 				codeRepository.save(chargeCode);
+				referenceDataCache.invalidateChargeCodes();
 
 				Map<String, Object> response = new HashMap<>();
 				response.put("success", true);
@@ -135,6 +144,7 @@ public class CodeController {
 			code.setDescription(requestData.get("description"));
 
 			codeRepository.save(code);
+			referenceDataCache.invalidateChargeCodes();
 			return "Charge Code updated successfully!";
 		} else {
 			return "Charge Code not found!";
@@ -147,6 +157,7 @@ public class CodeController {
 
 		if (optionalCode.isPresent()) {
 			codeRepository.deleteById(id);
+			referenceDataCache.invalidateChargeCodes();
 			return "Charge Code deleted successfully!";
 		} else {
 			return "Charge Code not found!";
@@ -156,6 +167,7 @@ public class CodeController {
 	@PostMapping("/addExpenseCode")
 	public String addExpense(@RequestBody Expensedao Expense) {
 		Exrepo.save(Expense);
+		referenceDataCache.invalidateExpenseCodes();
 		return "Expese Data Saved Successfully";
 	}
 
@@ -183,6 +195,7 @@ public class CodeController {
 			exp.setEx_type(requestData.get("Ex-type"));
 
 			Exrepo.save(exp);
+			referenceDataCache.invalidateExpenseCodes();
 			return "Expense Code updated successfully!";
 		} else {
 			return "Expense Code not found!";
@@ -196,6 +209,7 @@ public class CodeController {
 
 		if (optionalCode.isPresent()) {
 			Exrepo.deleteById(id);
+			referenceDataCache.invalidateExpenseCodes();
 			return "Charge Code deleted successfully!";
 		} else {
 			return "Charge Code not found!";
@@ -203,10 +217,9 @@ public class CodeController {
 	}
 
 	@GetMapping("/getExpensecode")
-	public ResponseEntity<List<Expensedao>> getExpense() {
-		List<Expensedao> ExCode = Exrepo.findAll();
-
-		return ResponseEntity.ok(ExCode);
+	public ResponseEntity<List<Expensedao>> getExpense(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return cached(referenceDataCache.expenseCodes(), ifNoneMatch);
 	}
 
 	@GetMapping("/getNextCodeIncrement")
@@ -228,6 +241,7 @@ public class CodeController {
 			holidays.setYear(year);
 
 			holidayrepo.save(holidays);
+			referenceDataCache.invalidateHolidays();
 
 			return "Holiday Data Saved Successfully";
 		} catch (Exception e) {
@@ -237,10 +251,9 @@ public class CodeController {
 	}
 
 	@GetMapping("/getHolidays")
-	public ResponseEntity<List<Holidays>> getHolidy() {
-		List<Holidays> holiday = holidayrepo.findAll();
-
-		return ResponseEntity.ok(holiday);
+	public ResponseEntity<List<Holidays>> getHolidy(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return cached(referenceDataCache.holidays(), ifNoneMatch);
 	}
 
 	@GetMapping("/getholidaybyid/{id}")
@@ -276,6 +289,7 @@ public class CodeController {
 			exp.setYear(year);
 
 			holidayrepo.save(exp);
+			referenceDataCache.invalidateHolidays();
 			return "Holiday updated successfully!";
 		} else {
 			return "Holiday not found!";
@@ -283,8 +297,9 @@ public class CodeController {
 	}
 
 	@GetMapping("/holidaysforUI")
-	public List<Holidays> getAllHolidays() {
-		return holidayrepo.findAll();
+	public ResponseEntity<List<Holidays>> getAllHolidays(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		return cached(referenceDataCache.holidays(), ifNoneMatch);
 	}
 
 	@DeleteMapping("/deleteholiday/{id}")
@@ -294,9 +309,19 @@ public class CodeController {
 
 		if (optionalCode.isPresent()) {
 			holidayrepo.deleteById(id);
+			referenceDataCache.invalidateHolidays();
 			return "holiday deleted successfully!";
 		} else {
 			return "holiday not found!";
 		}
 	}
+
+	// Clients must revalidate, but an unchanged table costs a 304 with no body
+	private <T> ResponseEntity<List<T>> cached(ReferenceDataCache.Snapshot<T> snapshot, String ifNoneMatch) {
+		if (snapshot.etag().equals(ifNoneMatch)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag())
+					.cacheControl(CacheControl.noCache()).build();
+		}
+		return ResponseEntity.ok().eTag(snapshot.etag()).cacheControl(CacheControl.noCache()).body(snapshot.items());
+	}
 }
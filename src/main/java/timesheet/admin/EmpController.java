@@ -28,6 +28,7 @@ import timesheet.admin.repo.AllowedLeavesRepository;
 import timesheet.admin.repo.CasualLeaveTrackerRepo;
 import timesheet.admin.repo.DelegateRepo;
 import timesheet.admin.repo.EmployeeRepo;
+import timesheet.admin.service.EmployeeImportService;
 import timesheet.emails.EmailServiceController;
 
 @org.springframework.stereotype.Controller
@@ -97,27 +98,8 @@ public class EmpController {
 		}
 
 		// ➕ Set initial casual leave counts for onboard FY
-		int monthsPassed;
-
-		if (onboardYear == fyStartYear && onboardMonth >= 4) {
-		   
-		    monthsPassed = onboardMonth - 4;          
-		} else if (onboardYear < fyStartYear) {
-		    
-		    monthsPassed = 0;
-		} else {
-		   
-		    monthsPassed = 9 + onboardMonth;          
-		}
+		int monthsPassed = EmployeeImportService.casualLeaveAlreadyUsed(onboardDate);
 
-		/* ✨ NEW RULE: if the employee joined after the 15th of the joining month,
-		   treat that month’s CL as already consumed. */
-		if (onboardDate.getDayOfMonth() > 15) {
-		    monthsPassed += 1;                        
-		}
-	
-		monthsPassed = Math.min(Math.max(monthsPassed, 0), 12);
-		
 		AllowedLeaves allowed = allowedLeaveRepo.findByUsernameAndYear(username, fyStartYear);
 		if (allowed != null) {
 		    allowed.setBaseCasualTaken(monthsPassed);
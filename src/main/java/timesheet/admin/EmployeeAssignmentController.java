@@ -1,6 +1,8 @@
 package timesheet.admin;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,44 +13,46 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import timesheet.admin.dao.Assignment;
 import timesheet.admin.dao.AssignmentRequest;
-import timesheet.admin.repo.AssignmentRepository;
-import timesheet.admin.service.AssigmentEmailService;
+import timesheet.admin.service.AssignmentService;
 
 @RestController
 @RequestMapping("/assignEmployees")
 public class EmployeeAssignmentController {
 
 	@Autowired
-	private AssigmentEmailService emailService;
-
-	@Autowired
-	private AssignmentRepository assignmentRepository;
+	private AssignmentService assignmentService;
 
 	@PostMapping
 	public ResponseEntity<Map<String, Object>> assignEmployees(@RequestBody AssignmentRequest assignmentRequest) {
-		try {
-
-			for (String employeeName : assignmentRequest.getEmployees()) {
-				Assignment assignment = new Assignment();
-				assignment.setEmployeeName(employeeName);
-				assignment.setChargeCode(assignmentRequest.getChargeCode());
-				assignment.setDescription(assignmentRequest.getDescription());
-				assignmentRepository.save(assignment);
-			}
-
-			for (String employeeName : assignmentRequest.getEmployees()) {
+		Map<String, Object> response = new HashMap<>();
+		String chargeCode = assignmentRequest.getChargeCode();
+		if (chargeCode == null || chargeCode.isBlank() || assignmentRequest.getEmployees() == null
+				|| assignmentRequest.getEmployees().isEmpty()) {
+			response.put("success", false);
+			response.put("message", "chargeCode and at least one employee are required");
+			return ResponseEntity.badRequest().body(response);
+		}
 
-				emailService.sendAssignmentEmail(employeeName, assignmentRequest.getChargeCode(),
-						assignmentRequest.getDescription());
+		try {
+			Map<String, String> outcomes = assignmentService.assign(chargeCode.trim(),
+					assignmentRequest.getDescription(), assignmentRequest.getEmployees());
+
+			List<Map<String, String>> results = new ArrayList<>();
+			int assigned = 0;
+			for (Map.Entry<String, String> outcome : outcomes.entrySet()) {
+				results.add(Map.of("employee", outcome.getKey(), "status", outcome.getValue()));
+				if (AssignmentService.ASSIGNED.equals(outcome.getValue()))
+					assigned++;
 			}
 
-			Map<String, Object> response = new HashMap<>();
 			response.put("success", true);
+			response.put("chargeCode", chargeCode.trim());
+			response.put("assigned", assigned);
+			response.put("results", results);
 			return ResponseEntity.ok(response);
 		} catch (Exception e) {
-			Map<String, Object> response = new HashMap<>();
+			e.printStackTrace();
 			response.put("success", false);
 			response.put("message", "Error processing request: " + e.getMessage());
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
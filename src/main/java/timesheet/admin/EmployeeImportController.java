@@ -0,0 +1,77 @@
+package timesheet.admin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import timesheet.admin.dao.Employeedao;
+import timesheet.admin.service.EmployeeImportService;
+import timesheet.admin.service.EmployeeImportService.RowResult;
+
+/**
+ * Bulk onboarding. The report is streamed as one JSON object per line
+ * (application/x-ndjson) so a large upload shows progress as chunks commit.
+ */
+@RestController
+public class EmployeeImportController {
+
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	@Autowired
+	private EmployeeImportService employeeImportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PostMapping(value = "/addEmployees/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<?> importJson(@RequestBody List<Employeedao> employees) {
+		if (employees == null || employees.isEmpty())
+			return ResponseEntity.badRequest().body(Map.of("error", "No employees provided"));
+		return stream(employees);
+	}
+
+	@PostMapping(value = "/addEmployees/bulk", consumes = "text/csv")
+	public ResponseEntity<?> importCsv(@RequestBody String csv) {
+		List<Employeedao> employees = new ArrayList<>();
+		try {
+			for (Map<String, String> row : employeeImportService.parseCsv(csv)) {
+				employees.add(employeeImportService.toEmployee(row));
+			}
+		} catch (IOException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", "Could not read CSV: " + e.getMessage()));
+		}
+		if (employees.isEmpty())
+			return ResponseEntity.badRequest().body(Map.of("error", "No employees provided"));
+		return stream(employees);
+	}
+
+	private ResponseEntity<StreamingResponseBody> stream(List<Employeedao> employees) {
+		StreamingResponseBody body = out -> employeeImportService.importEmployees(employees,
+				result -> writeLine(out, result));
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+
+	private void writeLine(OutputStream out, RowResult result) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(result));
+			out.write("\n".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+		} catch (IOException e) {
+			// client went away; the import itself carries on
+			System.err.println("Bulk onboarding report not delivered: " + e.getMessage());
+		}
+	}
+}
@@ -1,11 +1,21 @@
 package timesheet.admin.dao;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@Table(name = "allowed_leaves", uniqueConstraints = @UniqueConstraint(name = "uk_allowed_leaves_user_year",
+		columnNames = { "username", "year" }))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "allowedLeaves")
 public class AllowedLeaves {
 
 	@Id
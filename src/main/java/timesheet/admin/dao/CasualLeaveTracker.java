@@ -4,8 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@Table(name = "casual_leave_tracker", uniqueConstraints = @UniqueConstraint(
+		name = "uk_casual_leave_tracker_user_month", columnNames = { "username", "year", "month" }))
 public class CasualLeaveTracker {
 
 	@Id
@@ -1,5 +1,9 @@
 package timesheet.admin.dao;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -8,6 +12,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "codes_details")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "codes")
 public class Codedao {
 
 	@Id
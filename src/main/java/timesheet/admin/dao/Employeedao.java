@@ -1,7 +1,11 @@
 package timesheet.admin.dao;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -11,6 +15,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "employee_details")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 public class Employeedao {
 
 	@Id
@@ -22,6 +28,11 @@ public class Employeedao {
 
 	@PrePersist
 	protected void onCreate() {
+		applyOnboardingDefaults();
+	}
+
+	/** Values every new employee starts with; also used by the JDBC bulk import. */
+	public void applyOnboardingDefaults() {
 
 		if (E_Role != null && E_Role.equalsIgnoreCase("Admin")) {
 			this.additionalRole = "Employee";
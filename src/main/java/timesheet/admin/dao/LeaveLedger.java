@@ -0,0 +1,94 @@
+package timesheet.admin.dao;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "leave_ledger", uniqueConstraints = @UniqueConstraint(columnNames = { "username", "year", "month",
+		"leave_type" }))
+public class LeaveLedger {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private String username;
+
+	private int year;
+
+	private int month;
+
+	private String leaveType; // Sick Leave / Optional Leave / Casual Leave
+
+	private double days;
+
+	public LeaveLedger() {
+	}
+
+	public LeaveLedger(String username, int year, int month, String leaveType, double days) {
+		this.username = username;
+		this.year = year;
+		this.month = month;
+		this.leaveType = leaveType;
+		this.days = days;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public int getYear() {
+		return year;
+	}
+
+	public void setYear(int year) {
+		this.year = year;
+	}
+
+	public int getMonth() {
+		return month;
+	}
+
+	public void setMonth(int month) {
+		this.month = month;
+	}
+
+	public String getLeaveType() {
+		return leaveType;
+	}
+
+	public void setLeaveType(String leaveType) {
+		this.leaveType = leaveType;
+	}
+
+	public double getDays() {
+		return days;
+	}
+
+	public void setDays(double days) {
+		this.days = days;
+	}
+
+	@Override
+	public String toString() {
+		return "LeaveLedger [id=" + id + ", username=" + username + ", year=" + year + ", month=" + month
+				+ ", leaveType=" + leaveType + ", days=" + days + "]";
+	}
+
+}
@@ -1,6 +1,9 @@
 package timesheet.admin.repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
 
 import timesheet.admin.dao.AllowedLeaves;
 
@@ -8,6 +11,7 @@ public interface AllowedLeavesRepository extends JpaRepository<AllowedLeaves, In
 
 	boolean existsByUsernameAndYear(String username, int year);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	AllowedLeaves findByUsernameAndYear(String username, int year);
 
 }
@@ -0,0 +1,36 @@
+package timesheet.admin.repo;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.admin.dao.Assignment;
+
+/**
+ * JDBC batch inserts into assignment, so a team-wide assignment is a handful
+ * of round trips rather than one save per employee.
+ */
+@Repository
+public class AssignmentBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String INSERT_ASSIGNMENT = "INSERT INTO assignment (employee_name, charge_code, description) "
+			+ "VALUES (?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public void insertAll(List<Assignment> assignments) {
+		if (assignments.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT, assignments, BATCH_SIZE, (ps, a) -> {
+			ps.setString(1, a.getEmployeeName());
+			ps.setString(2, a.getChargeCode());
+			ps.setString(3, a.getDescription());
+		});
+	}
+}
@@ -1,5 +1,8 @@
 package timesheet.admin.repo;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -16,4 +19,8 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
 	@Transactional
 	@Query("DELETE FROM Assignment a WHERE a.chargeCode = :chargeCode")
 	void deleteByChargeCode(@Param("chargeCode") String chargeCode);
+
+	@Query("SELECT a.employeeName FROM Assignment a WHERE a.chargeCode = :chargeCode AND a.employeeName IN :employees")
+	List<String> findAssignedEmployees(@Param("chargeCode") String chargeCode,
+			@Param("employees") Collection<String> employees);
 }
@@ -3,7 +3,10 @@ package timesheet.admin.repo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 import timesheet.admin.dao.ChargeCodeCounter;
 
@@ -11,6 +14,16 @@ public interface ChargeCountRepo extends JpaRepository<ChargeCodeCounter, Intege
 
 	@Modifying
 	@Transactional
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "charge_code_counter"))
 	@Query(value = "INSERT INTO charge_code_counter (id, last_increment) VALUES (1, 0) ON DUPLICATE KEY UPDATE id = id", nativeQuery = true)
 	void initializeCounter();
+
+	/** Moves the counter past a block of codes; the row lock is held until commit. */
+	@Modifying
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "charge_code_counter"))
+	@Query(value = "UPDATE charge_code_counter SET last_increment = last_increment + :size WHERE id = 1", nativeQuery = true)
+	int reserveBlock(@Param("size") int size);
+
+	@Query(value = "SELECT last_increment FROM charge_code_counter WHERE id = 1", nativeQuery = true)
+	int currentIncrement();
 }
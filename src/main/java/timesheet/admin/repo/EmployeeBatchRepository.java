@@ -0,0 +1,43 @@
+package timesheet.admin.repo;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.admin.dao.Employeedao;
+
+/**
+ * JDBC batch inserts into employee_details for bulk onboarding. Rows written
+ * here skip the entity's @PrePersist, so callers set additionalRole and
+ * status themselves (see Employeedao#applyOnboardingDefaults).
+ */
+@Repository
+public class EmployeeBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String INSERT_EMPLOYEE = "INSERT INTO employee_details "
+			+ "(onboard, e_name, e_mail, e_password, e_role, designation, additional_role, status) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public void insertAll(List<Employeedao> employees) {
+		if (employees.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, employees, BATCH_SIZE, (ps, employee) -> {
+			ps.setString(1, employee.getOnboard());
+			ps.setString(2, employee.geteName());
+			ps.setString(3, employee.geteMail());
+			ps.setString(4, employee.getePassword());
+			ps.setString(5, employee.getE_Role());
+			ps.setString(6, employee.getDesignation());
+			ps.setString(7, employee.getAdditionalRole());
+			ps.setString(8, employee.getStatus());
+		});
+	}
+}
@@ -1,16 +1,26 @@
 package timesheet.admin.repo;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
 
 import timesheet.admin.dao.Employeedao;
 
 public interface EmployeeRepo extends JpaRepository<Employeedao, Integer> {
 
+	List<Employeedao> findByeNameIn(Collection<String> names);
+
+	// Hot lookups; served from the query cache when the l2cache profile is on
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Employeedao findByeName(String name);
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Employeedao findByeMail(String email);
 
 	List<Employeedao> findBystatus(String status);
@@ -23,4 +33,10 @@ public interface EmployeeRepo extends JpaRepository<Employeedao, Integer> {
 
 	boolean existsByeMail(String geteMail);
 
+	@Query("SELECT e.eMail FROM Employeedao e WHERE e.eMail IN :emails")
+	List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+	@Query("SELECT e.eName FROM Employeedao e WHERE e.eName IN :names")
+	List<String> findExistingNames(@Param("names") Collection<String> names);
+
 }
@@ -0,0 +1,40 @@
+package timesheet.admin.repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import timesheet.admin.dao.LeaveLedger;
+
+public interface LeaveLedgerRepo extends JpaRepository<LeaveLedger, Long> {
+
+	@Modifying
+	@Transactional
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "leave_ledger"))
+	@Query(value = "INSERT INTO leave_ledger (username, year, month, leave_type, days) "
+			+ "VALUES (:username, :year, :month, :leaveType, :days) "
+			+ "ON DUPLICATE KEY UPDATE days = days + VALUES(days)", nativeQuery = true)
+	void addDays(@Param("username") String username, @Param("year") int year, @Param("month") int month,
+			@Param("leaveType") String leaveType, @Param("days") double days);
+
+	@Query("SELECT COALESCE(SUM(l.days), 0) FROM LeaveLedger l "
+			+ "WHERE l.username = :username AND l.year = :year AND l.leaveType = :leaveType")
+	Double sumDaysForYear(@Param("username") String username, @Param("year") int year,
+			@Param("leaveType") String leaveType);
+
+	@Query("SELECT COALESCE(SUM(l.days), 0) FROM LeaveLedger l WHERE l.username = :username "
+			+ "AND l.year = :year AND l.month = :month AND l.leaveType = :leaveType")
+	Double sumDaysForMonth(@Param("username") String username, @Param("year") int year, @Param("month") int month,
+			@Param("leaveType") String leaveType);
+
+	List<LeaveLedger> findByUsername(String username);
+
+	@Transactional
+	void deleteByUsername(String username);
+}
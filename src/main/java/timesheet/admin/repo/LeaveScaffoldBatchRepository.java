@@ -0,0 +1,92 @@
+package timesheet.admin.repo;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.admin.dao.AllowedLeaves;
+import timesheet.admin.dao.CasualLeaveTracker;
+
+/**
+ * Set-based access to the per-financial-year leave scaffolding: one
+ * allowed_leaves row per employee and one casual_leave_tracker row per month
+ * from April to the following March. Existing keys are read in one query per
+ * table and missing rows are written through JDBC batching. Both tables carry
+ * a unique key on those columns and the inserts leave an existing row alone,
+ * so two nodes running the rollover at once cannot create duplicates.
+ */
+@Repository
+public class LeaveScaffoldBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String SELECT_ALLOWED_USERNAMES = "SELECT username FROM allowed_leaves WHERE year = ?";
+
+	private static final String SELECT_TRACKER_KEYS = "SELECT username, year, month FROM casual_leave_tracker "
+			+ "WHERE (year = ? AND month >= 4) OR (year = ? AND month <= 3)";
+
+	private static final String INSERT_ALLOWED = "INSERT INTO allowed_leaves (username, year, casual_taken, "
+			+ "casual_allowed, base_casual_taken, sick_taken, sick_allowed, floating_taken, floating_allowed, "
+			+ "earncasual_leave) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE id = id";
+
+	private static final String INSERT_TRACKER = "INSERT INTO casual_leave_tracker "
+			+ "(username, year, month, is_taken, cl_carried_forward) VALUES (?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE id = id";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/** Usernames that already have an allowed_leaves row for the financial year. */
+	public Set<String> findAllowedLeaveUsernames(int fyStartYear) {
+		return new HashSet<>(jdbcTemplate.queryForList(SELECT_ALLOWED_USERNAMES, String.class, fyStartYear));
+	}
+
+	/** Existing tracker rows of the financial year, as trackerKey strings. */
+	public Set<String> findTrackerKeys(int fyStartYear) {
+		Set<String> keys = new HashSet<>();
+		jdbcTemplate.query(SELECT_TRACKER_KEYS, rs -> {
+			keys.add(trackerKey(rs.getString("username"), rs.getInt("year"), rs.getInt("month")));
+		}, fyStartYear, fyStartYear + 1);
+		return keys;
+	}
+
+	public void insertAllowedLeaves(List<AllowedLeaves> rows) {
+		if (rows.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_ALLOWED, rows, BATCH_SIZE, (ps, row) -> {
+			ps.setString(1, row.getUsername());
+			ps.setDouble(2, row.getYear());
+			ps.setInt(3, row.getCasualTaken());
+			ps.setInt(4, row.getCasualAllowed());
+			ps.setInt(5, row.getBaseCasualTaken());
+			ps.setDouble(6, row.getSickTaken());
+			ps.setDouble(7, row.getSickAllowed());
+			ps.setDouble(8, row.getFloatingTaken());
+			ps.setDouble(9, row.getFloatingAllowed());
+			ps.setInt(10, row.getEarncasualLeave());
+		});
+	}
+
+	public void insertTrackers(List<CasualLeaveTracker> rows) {
+		if (rows.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_TRACKER, rows, BATCH_SIZE, (ps, row) -> {
+			ps.setString(1, row.getUsername());
+			ps.setInt(2, row.getYear());
+			ps.setInt(3, row.getMonth());
+			ps.setBoolean(4, row.isTaken());
+			ps.setBoolean(5, row.isClCarriedForward());
+		});
+	}
+
+	public static String trackerKey(String username, int year, int month) {
+		return username + "|" + year + "|" + month;
+	}
+}
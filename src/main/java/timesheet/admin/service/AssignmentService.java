@@ -0,0 +1,92 @@
+package timesheet.admin.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+import timesheet.admin.dao.Assignment;
+import timesheet.admin.dao.Employeedao;
+import timesheet.admin.repo.AssignmentBatchRepository;
+import timesheet.admin.repo.AssignmentRepository;
+import timesheet.admin.repo.EmployeeRepo;
+
+/**
+ * Assigns one charge code to many employees: a single lookup for known
+ * employees, a single lookup for existing assignments, one JDBC batch for the
+ * new rows and one outbox write for the notifications.
+ */
+@Service
+public class AssignmentService {
+
+	public static final String ASSIGNED = "ASSIGNED";
+	public static final String ALREADY_ASSIGNED = "ALREADY_ASSIGNED";
+	public static final String UNKNOWN_EMPLOYEE = "UNKNOWN_EMPLOYEE";
+	public static final String DUPLICATE = "DUPLICATE_IN_REQUEST";
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private AssignmentRepository assignmentRepository;
+
+	@Autowired
+	private AssignmentBatchRepository assignmentBatchRepository;
+
+	@Autowired
+	private AssigmentEmailService assigmentEmailService;
+
+	/** Returns employee name -> outcome, in request order. */
+	@Transactional
+	public Map<String, String> assign(String chargeCode, String description, List<String> employeeNames) {
+		Map<String, String> results = new LinkedHashMap<>();
+		Set<String> requested = new LinkedHashSet<>();
+		for (String name : employeeNames) {
+			if (name == null || name.isBlank())
+				continue;
+			String trimmed = name.trim();
+			if (!requested.add(trimmed))
+				results.put(trimmed, DUPLICATE);
+		}
+		if (requested.isEmpty())
+			return results;
+
+		Map<String, Employeedao> employees = new HashMap<>();
+		for (Employeedao employee : employeeRepo.findByeNameIn(requested)) {
+			employees.put(employee.geteName(), employee);
+		}
+		Set<String> alreadyAssigned = new HashSet<>(assignmentRepository.findAssignedEmployees(chargeCode, requested));
+
+		List<Assignment> toInsert = new ArrayList<>();
+		List<Employeedao> notify = new ArrayList<>();
+		for (String name : requested) {
+			if (!employees.containsKey(name)) {
+				results.put(name, UNKNOWN_EMPLOYEE);
+			} else if (alreadyAssigned.contains(name)) {
+				results.put(name, ALREADY_ASSIGNED);
+			} else {
+				Assignment assignment = new Assignment();
+				assignment.setEmployeeName(name);
+				assignment.setChargeCode(chargeCode);
+				assignment.setDescription(description);
+				toInsert.add(assignment);
+				notify.add(employees.get(name));
+				results.put(name, ASSIGNED);
+			}
+		}
+
+		assignmentBatchRepository.insertAll(toInsert);
+		if (!notify.isEmpty())
+			assigmentEmailService.sendAssignmentEmails(notify, chargeCode, description);
+
+		return results;
+	}
+}
@@ -0,0 +1,64 @@
+package timesheet.admin.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out charge-code increments from a block reserved in the database.
+ * Taking a number is a single atomic increment; only the caller that finds the
+ * block used up goes back to the database, and it reserves a whole block at
+ * once. Numbers left in a block when the application stops are skipped.
+ */
+class ChargeCodeAllocator {
+
+	/** Atomically advances the stored counter by size and returns the new value. */
+	interface BlockReserver {
+		int reserve(int size);
+	}
+
+	private final BlockReserver reserver;
+	private final int blockSize;
+	// a lock rather than synchronized: a virtual thread blocked on the database inside it stays unmounted
+	private final ReentrantLock refillLock = new ReentrantLock();
+	private volatile Block block = new Block(1, 0);
+
+	ChargeCodeAllocator(BlockReserver reserver, int blockSize) {
+		if (blockSize < 1)
+			throw new IllegalArgumentException("blockSize must be at least 1");
+		this.reserver = reserver;
+		this.blockSize = blockSize;
+	}
+
+	int next() {
+		while (true) {
+			Block current = block;
+			int value = current.next.getAndIncrement();
+			if (value <= current.last)
+				return value;
+			refill(current);
+		}
+	}
+
+	private void refill(Block exhausted) {
+		refillLock.lock();
+		try {
+			if (block != exhausted)
+				return; // another caller already reserved a fresh block
+			int last = reserver.reserve(blockSize);
+			block = new Block(last - blockSize + 1, last);
+		} finally {
+			refillLock.unlock();
+		}
+	}
+
+	private static final class Block {
+
+		private final AtomicInteger next;
+		private final int last;
+
+		Block(int first, int last) {
+			this.next = new AtomicInteger(first);
+			this.last = last;
+		}
+	}
+}
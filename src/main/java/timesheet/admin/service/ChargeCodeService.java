@@ -1,10 +1,11 @@
 package timesheet.admin.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.annotation.PostConstruct;
-import timesheet.admin.dao.ChargeCodeCounter;
 import timesheet.admin.repo.ChargeCountRepo;
 
 @Service
@@ -13,23 +14,31 @@ public class ChargeCodeService {
 	@Autowired
 	private ChargeCountRepo chargeCodeCounterRepository;
 
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${chargecode.block-size:10}")
+	private int blockSize;
+
+	private ChargeCodeAllocator allocator;
+
 	@PostConstruct
 	public void initializeCounterIfNeeded() {
 		chargeCodeCounterRepository.initializeCounter();
+		allocator = new ChargeCodeAllocator(this::reserveBlock, blockSize);
 	}
 
 	public int getNextCodeIncrement() {
+		return allocator.next();
+	}
 
-		ChargeCodeCounter counter = chargeCodeCounterRepository.findById(1)
-				.orElseThrow(() -> new RuntimeException("Counter not found"));
-
-		int lastIncrement = counter.getLastIncrement();
-
-		lastIncrement++;
-
-		counter.setLastIncrement(lastIncrement);
-		chargeCodeCounterRepository.save(counter);
-
-		return lastIncrement;
+	// UPDATE then SELECT in one transaction: the row lock taken by the UPDATE
+	// keeps other instances out until we have read our own new value
+	private int reserveBlock(int size) {
+		return transactionTemplate.execute(status -> {
+			if (chargeCodeCounterRepository.reserveBlock(size) != 1)
+				throw new IllegalStateException("charge_code_counter row is missing");
+			return chargeCodeCounterRepository.currentIncrement();
+		});
 	}
 }
@@ -0,0 +1,317 @@
+package timesheet.admin.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import timesheet.admin.dao.AllowedLeaves;
+import timesheet.admin.dao.CasualLeaveTracker;
+import timesheet.admin.dao.Employeedao;
+import timesheet.admin.repo.EmployeeBatchRepository;
+import timesheet.admin.repo.EmployeeRepo;
+import timesheet.admin.repo.LeaveScaffoldBatchRepository;
+import timesheet.emails.EmailOutboxService;
+import timesheet.emails.dao.EmailModel;
+import timesheet.nextYear.LeaveRolloverService;
+
+/**
+ * Bulk onboarding: every row is validated before anything is written, known
+ * emails and names are found with one IN query each, and valid rows are
+ * written a chunk at a time (employees, leave scaffolding and welcome emails
+ * in one transaction). Welcome emails go through the outbox, so delivery
+ * happens in the background.
+ */
+@Service
+public class EmployeeImportService {
+
+	public static final String CREATED = "CREATED";
+	public static final String INVALID = "INVALID";
+	public static final String DUPLICATE = "DUPLICATE";
+	public static final String FAILED = "FAILED";
+
+	private static final int CHUNK_SIZE = 100;
+
+	// CSV header -> JSON property of Employeedao; both spellings are accepted
+	private static final Map<String, String> CSV_COLUMNS = Map.ofEntries(Map.entry("onborad", "onborad"),
+			Map.entry("onboard", "onborad"), Map.entry("e-name", "E-name"), Map.entry("name", "E-name"),
+			Map.entry("e-mail", "E-mail"), Map.entry("email", "E-mail"), Map.entry("e-pass", "E-pass"),
+			Map.entry("password", "E-pass"), Map.entry("e-role", "E-role"), Map.entry("role", "E-role"),
+			Map.entry("e-desg", "E-desg"), Map.entry("designation", "E-desg"));
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private EmployeeBatchRepository employeeBatchRepository;
+
+	@Autowired
+	private LeaveScaffoldBatchRepository leaveScaffoldBatchRepository;
+
+	@Autowired
+	private EmailOutboxService emailOutboxService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private SecondLevelCache secondLevelCache;
+
+	public record RowResult(int row, String name, String email, String status, String message) {
+	}
+
+	/**
+	 * Casual leaves already counted as used for the onboarding financial year:
+	 * one per month before joining, plus the joining month when joining after
+	 * the 15th. Capped at 12.
+	 */
+	public static int casualLeaveAlreadyUsed(LocalDate onboardDate) {
+		int onboardYear = onboardDate.getYear();
+		int onboardMonth = onboardDate.getMonthValue();
+		int fyStartYear = LeaveRolloverService.financialYearStart(onboardDate);
+
+		int monthsPassed;
+		if (onboardYear == fyStartYear && onboardMonth >= 4) {
+			monthsPassed = onboardMonth - 4;
+		} else if (onboardYear < fyStartYear) {
+			monthsPassed = 0;
+		} else {
+			monthsPassed = 9 + onboardMonth;
+		}
+		if (onboardDate.getDayOfMonth() > 15) {
+			monthsPassed += 1;
+		}
+		return Math.min(Math.max(monthsPassed, 0), 12);
+	}
+
+	/** Rows of a CSV upload as JSON-style maps, keyed like the /addEmployee body. */
+	public List<Map<String, String>> parseCsv(String csv) throws IOException {
+		List<Map<String, String>> rows = new ArrayList<>();
+		try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+			String headerLine = reader.readLine();
+			if (headerLine == null)
+				return rows;
+			List<String> header = new ArrayList<>();
+			for (String column : splitCsvLine(headerLine)) {
+				header.add(CSV_COLUMNS.getOrDefault(column.trim().toLowerCase(), column.trim()));
+			}
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank())
+					continue;
+				List<String> cells = splitCsvLine(line);
+				Map<String, String> row = new LinkedHashMap<>();
+				for (int i = 0; i < header.size(); i++) {
+					row.put(header.get(i), i < cells.size() ? cells.get(i).trim() : "");
+				}
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	public Employeedao toEmployee(Map<String, String> row) {
+		Employeedao employee = new Employeedao();
+		employee.setOnboard(row.get("onborad"));
+		employee.seteName(row.get("E-name"));
+		employee.seteMail(row.get("E-mail"));
+		employee.setePassword(row.get("E-pass"));
+		employee.setE_Role(row.get("E-role"));
+		employee.setDesignation(row.get("E-desg"));
+		return employee;
+	}
+
+	/**
+	 * Imports the rows, reporting one result per row to sink: rejected rows
+	 * first, then created rows chunk by chunk as each chunk commits.
+	 */
+	public void importEmployees(List<Employeedao> employees, Consumer<RowResult> sink) {
+
+		/* ── 1. Validate every row before writing anything ─────────── */
+		Map<Integer, String> rejected = new LinkedHashMap<>();
+		Map<Integer, String> rejectedStatus = new HashMap<>();
+		Set<String> emailsInFile = new HashSet<>();
+		Set<String> namesInFile = new HashSet<>();
+		for (int i = 0; i < employees.size(); i++) {
+			Employeedao e = employees.get(i);
+			String problem = validate(e);
+			if (problem == null && !emailsInFile.add(e.geteMail().toLowerCase()))
+				problem = "Email appears more than once in the upload";
+			if (problem == null && !namesInFile.add(e.geteName()))
+				problem = "Name appears more than once in the upload";
+			if (problem != null) {
+				rejected.put(i, problem);
+				rejectedStatus.put(i, INVALID);
+			}
+		}
+
+		/* ── 2. Existing emails and names, one query each ─────────── */
+		Set<String> knownEmails = new HashSet<>();
+		for (String email : employeeRepo.findExistingEmails(emailsInFile.isEmpty() ? Set.of("") : emailsInFile)) {
+			knownEmails.add(email.toLowerCase());
+		}
+		Set<String> knownNames = new HashSet<>(
+				employeeRepo.findExistingNames(namesInFile.isEmpty() ? Set.of("") : namesInFile));
+
+		List<Integer> accepted = new ArrayList<>();
+		for (int i = 0; i < employees.size(); i++) {
+			if (rejected.containsKey(i))
+				continue;
+			Employeedao e = employees.get(i);
+			if (knownEmails.contains(e.geteMail().toLowerCase())) {
+				rejected.put(i, "Employee with this email already exists.");
+				rejectedStatus.put(i, DUPLICATE);
+			} else if (knownNames.contains(e.geteName())) {
+				rejected.put(i, "Employee with this name already exists.");
+				rejectedStatus.put(i, DUPLICATE);
+			} else {
+				accepted.add(i);
+			}
+		}
+
+		for (Map.Entry<Integer, String> reject : rejected.entrySet()) {
+			Employeedao e = employees.get(reject.getKey());
+			sink.accept(new RowResult(reject.getKey() + 1, e.geteName(), e.geteMail(),
+					rejectedStatus.get(reject.getKey()), reject.getValue()));
+		}
+
+		/* ── 3. Write accepted rows a chunk per transaction ─────────── */
+		Map<Integer, Set<String>> allowedByYear = new HashMap<>();
+		Map<Integer, Set<String>> trackersByYear = new HashMap<>();
+		for (int start = 0; start < accepted.size(); start += CHUNK_SIZE) {
+			List<Integer> chunk = accepted.subList(start, Math.min(start + CHUNK_SIZE, accepted.size()));
+			try {
+				transactionTemplate.executeWithoutResult(
+						status -> writeChunk(employees, chunk, allowedByYear, trackersByYear));
+				secondLevelCache.evictQueryResults();
+				for (int i : chunk) {
+					Employeedao e = employees.get(i);
+					sink.accept(new RowResult(i + 1, e.geteName(), e.geteMail(), CREATED, null));
+				}
+			} catch (Exception ex) {
+				ex.printStackTrace();
+				for (int i : chunk) {
+					Employeedao e = employees.get(i);
+					sink.accept(new RowResult(i + 1, e.geteName(), e.geteMail(), FAILED, ex.getMessage()));
+				}
+			}
+		}
+		System.out.println("👥 Bulk onboarding: " + accepted.size() + " of " + employees.size() + " rows accepted");
+	}
+
+	private void writeChunk(List<Employeedao> employees, List<Integer> chunk, Map<Integer, Set<String>> allowedByYear,
+			Map<Integer, Set<String>> trackersByYear) {
+
+		int currentFyStart = LeaveRolloverService.financialYearStart(LocalDate.now());
+		List<Employeedao> rows = new ArrayList<>();
+		List<AllowedLeaves> allowed = new ArrayList<>();
+		List<CasualLeaveTracker> trackers = new ArrayList<>();
+		Map<String, EmailModel> welcomes = new LinkedHashMap<>();
+
+		for (int i : chunk) {
+			Employeedao e = employees.get(i);
+			e.applyOnboardingDefaults();
+			rows.add(e);
+
+			LocalDate onboardDate = LocalDate.parse(e.getOnboard());
+			int fyStartYear = LeaveRolloverService.financialYearStart(onboardDate);
+
+			// Same scaffolding /addEmployee creates: the onboarding year with the
+			// months already passed, and the current year if that is later
+			int firstNew = allowed.size();
+			LeaveRolloverService.missingRows(e.geteName(), fyStartYear, allowedKeys(allowedByYear, fyStartYear),
+					trackerKeys(trackersByYear, fyStartYear), allowed, trackers);
+			int used = casualLeaveAlreadyUsed(onboardDate);
+			for (AllowedLeaves row : allowed.subList(firstNew, allowed.size())) {
+				row.setBaseCasualTaken(used);
+				row.setCasualTaken(used);
+			}
+			if (fyStartYear < currentFyStart) {
+				LeaveRolloverService.missingRows(e.geteName(), currentFyStart,
+						allowedKeys(allowedByYear, currentFyStart), trackerKeys(trackersByYear, currentFyStart),
+						allowed, trackers);
+			}
+
+			welcomes.put(e.geteMail(), new EmailModel.Welcome(e.geteName(), e.geteMail(), e.getePassword(),
+					e.getDesignation(), e.getE_Role()));
+		}
+
+		employeeBatchRepository.insertAll(rows);
+		leaveScaffoldBatchRepository.insertAllowedLeaves(allowed);
+		leaveScaffoldBatchRepository.insertTrackers(trackers);
+		emailOutboxService.enqueueAll(welcomes);
+	}
+
+	// Existing leave keys are loaded once per financial year for the whole import
+	private Set<String> allowedKeys(Map<Integer, Set<String>> cache, int fyStartYear) {
+		return cache.computeIfAbsent(fyStartYear, leaveScaffoldBatchRepository::findAllowedLeaveUsernames);
+	}
+
+	private Set<String> trackerKeys(Map<Integer, Set<String>> cache, int fyStartYear) {
+		return cache.computeIfAbsent(fyStartYear, leaveScaffoldBatchRepository::findTrackerKeys);
+	}
+
+	private String validate(Employeedao e) {
+		if (isBlank(e.geteName()))
+			return "Name is required";
+		if (isBlank(e.geteMail()) || !e.geteMail().contains("@"))
+			return "A valid email is required";
+		if (isBlank(e.getePassword()))
+			return "Password is required";
+		if (isBlank(e.getE_Role()))
+			return "Role is required";
+		if (isBlank(e.getOnboard()))
+			return "Onboard date is required";
+		try {
+			LocalDate.parse(e.getOnboard());
+		} catch (DateTimeParseException ex) {
+			return "Onboard date must be yyyy-MM-dd";
+		}
+		return null;
+	}
+
+	private boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	private List<String> splitCsvLine(String line) {
+		List<String> cells = new ArrayList<>();
+		StringBuilder cell = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					cell.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					cell.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			} else {
+				cell.append(c);
+			}
+		}
+		cells.add(cell.toString());
+		return cells;
+	}
+}
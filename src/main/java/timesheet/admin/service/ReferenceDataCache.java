@@ -0,0 +1,198 @@
+package timesheet.admin.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import timesheet.admin.dao.Codedao;
+import timesheet.admin.dao.Expensedao;
+import timesheet.admin.dao.Holidays;
+import timesheet.admin.repo.CodeRepo;
+import timesheet.admin.repo.ExpenseRepo;
+import timesheet.admin.repo.HolidayRepo;
+
+/**
+ * Read-through cache for the small, rarely edited reference tables: charge
+ * codes, expense codes and holidays. Each table is loaded whole on first use
+ * and kept until one of the CodeController write endpoints invalidates it or
+ * the TTL runs out; invalidation only reaches this node, so the TTL bounds how
+ * long other nodes serve a table edited elsewhere. Every snapshot carries an
+ * ETag computed from its JSON so GET endpoints can answer If-None-Match with
+ * 304. Hits, misses, evictions and sizes are reference.data.cache.* meters.
+ */
+@Service
+public class ReferenceDataCache {
+
+	public static final String CHARGE_CODES = "chargeCodes";
+	public static final String EXPENSE_CODES = "expenseCodes";
+	public static final String HOLIDAYS = "holidays";
+
+	@Autowired
+	private CodeRepo codeRepo;
+
+	@Autowired
+	private ExpenseRepo expenseRepo;
+
+	@Autowired
+	private HolidayRepo holidayRepo;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${reference-data.cache.ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private Region<Codedao> chargeCodes;
+	private Region<Expensedao> expenseCodes;
+	private Region<Holidays> holidays;
+
+	public record Snapshot<T>(List<T> items, String etag) {
+	}
+
+	@PostConstruct
+	void start() {
+		chargeCodes = new Region<>(CHARGE_CODES);
+		expenseCodes = new Region<>(EXPENSE_CODES);
+		holidays = new Region<>(HOLIDAYS);
+	}
+
+	public Snapshot<Codedao> chargeCodes() {
+		return chargeCodes.get(codeRepo::findAll);
+	}
+
+	public Snapshot<Expensedao> expenseCodes() {
+		return expenseCodes.get(expenseRepo::findAll);
+	}
+
+	public Snapshot<Holidays> holidays() {
+		return holidays.get(holidayRepo::findAll);
+	}
+
+	public void invalidateChargeCodes() {
+		chargeCodes.invalidate();
+	}
+
+	public void invalidateExpenseCodes() {
+		expenseCodes.invalidate();
+	}
+
+	public void invalidateHolidays() {
+		holidays.invalidate();
+	}
+
+	private final class Region<T> {
+
+		private final Counter hits;
+		private final Counter misses;
+		private final Counter evictions;
+		private volatile Entry<T> entry;
+		// bumped on every invalidation so a load that raced with a write is not kept
+		private volatile long generation;
+		// loads hold it across a query, which would pin a virtual thread under synchronized
+		private final ReentrantLock lock = new ReentrantLock();
+
+		Region(String name) {
+			hits = Counter.builder("reference.data.cache.gets").tag("cache", name).tag("result", "hit")
+					.register(meterRegistry);
+			misses = Counter.builder("reference.data.cache.gets").tag("cache", name).tag("result", "miss")
+					.register(meterRegistry);
+			evictions = Counter.builder("reference.data.cache.evictions").tag("cache", name)
+					.register(meterRegistry);
+			Gauge.builder("reference.data.cache.size", this, Region::size).tag("cache", name)
+					.register(meterRegistry);
+		}
+
+		Snapshot<T> get(Supplier<List<T>> loader) {
+			Entry<T> current = entry;
+			if (current != null && current.fresh()) {
+				hits.increment();
+				return current.snapshot();
+			}
+			lock.lock();
+			try {
+				current = entry;
+				if (current != null && current.fresh()) {
+					hits.increment();
+					return current.snapshot();
+				}
+				misses.increment();
+				long loadedAt = generation;
+				List<T> items = Collections.unmodifiableList(loader.get());
+				Snapshot<T> loaded = new Snapshot<>(items, etag(items));
+				if (loadedAt == generation)
+					entry = new Entry<>(loaded, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+				return loaded;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		void invalidate() {
+			drop();
+			// a write inside a transaction is only visible once it commits, so drop
+			// again then in case a reader reloaded the old rows in between
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCommit() {
+						drop();
+					}
+				});
+			}
+		}
+
+		private void drop() {
+			lock.lock();
+			try {
+				generation++;
+				entry = null;
+				evictions.increment();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private double size() {
+			Entry<T> current = entry;
+			return current != null ? current.snapshot().items().size() : 0;
+		}
+	}
+
+	private record Entry<T>(Snapshot<T> snapshot, long expiresAt) {
+
+		boolean fresh() {
+			return System.nanoTime() - expiresAt < 0;
+		}
+	}
+
+	private String etag(List<?> items) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(objectMapper.writeValueAsBytes(items));
+			return "\"" + HexFormat.of().formatHex(hash).substring(0, 32) + "\"";
+		} catch (NoSuchAlgorithmException | JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package timesheet.admin.service;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Housekeeping for Hibernate's second-level and query caches. Both are off
+ * unless the l2cache profile is active; with them off the eviction is a no-op.
+ * Hit, miss and put counts are published as hibernate.* meters.
+ */
+@Service
+public class SecondLevelCache {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Rows inserted over plain JDBC are invisible to Hibernate, so a cached
+	 * query result ("no allowed_leaves row for this user") would outlive them.
+	 * Callers of the batch repositories drop the query regions once their
+	 * writes have committed. Entity regions stay valid: those writes only insert.
+	 */
+	public void evictQueryResults() {
+		sessionFactory().getCache().evictQueryRegions();
+	}
+
+	private SessionFactory sessionFactory() {
+		return entityManagerFactory.unwrap(SessionFactory.class);
+	}
+}
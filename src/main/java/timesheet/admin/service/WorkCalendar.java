@@ -0,0 +1,191 @@
+package timesheet.admin.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import timesheet.admin.dao.Holidays;
+import timesheet.admin.service.ReferenceDataCache.Snapshot;
+
+/**
+ * Working-day arithmetic for payroll, summaries and timesheets. Each year is
+ * precomputed once into day-of-year bitsets of Sundays and holidays plus prefix
+ * counts, so any date range is answered in O(1) per year it spans. The
+ * calendar follows the holidays table: when the cached holiday snapshot
+ * changes, the next call rebuilds it.
+ */
+@Service
+public class WorkCalendar {
+
+	/** Length of a full working day; hours on a timesheet convert to days with it. */
+	public static final double HOURS_PER_DAY = 9.0;
+
+	private static final DateTimeFormatter HOLIDAY_FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	private volatile Table table;
+	private volatile String builtFrom;
+
+	/**
+	 * The calendar as of now. Callers working through many employees should take
+	 * one table and reuse it so the whole batch sees the same holidays.
+	 */
+	public Table current() {
+		Snapshot<Holidays> holidays = referenceDataCache.holidays();
+		Table built = table;
+		if (built != null && holidays.etag().equals(builtFrom))
+			return built;
+
+		synchronized (this) {
+			if (table == null || !holidays.etag().equals(builtFrom)) {
+				table = Table.of(holidayDates(holidays.items()));
+				builtFrom = holidays.etag();
+			}
+			return table;
+		}
+	}
+
+	public int workingDays(LocalDate from, LocalDate to) {
+		return current().workingDays(from, to);
+	}
+
+	public boolean isWorkingDay(LocalDate date) {
+		return current().isWorkingDay(date);
+	}
+
+	public static double hoursToDays(double hours) {
+		return hours / HOURS_PER_DAY;
+	}
+
+	// Rows with an unparseable date are skipped, as payroll always has
+	private static List<LocalDate> holidayDates(List<Holidays> holidays) {
+		List<LocalDate> dates = new ArrayList<>();
+		for (Holidays h : holidays) {
+			try {
+				dates.add(LocalDate.parse(h.getDate(), HOLIDAY_FMT));
+			} catch (DateTimeParseException | NullPointerException ignored) {
+			}
+		}
+		return dates;
+	}
+
+	/** Immutable calendar for one set of holidays; years are built on first use. */
+	public static final class Table {
+
+		private final Map<Integer, BitSet> holidaysByYear;
+		private final Map<Integer, YearDays> years = new ConcurrentHashMap<>();
+
+		private Table(Map<Integer, BitSet> holidaysByYear) {
+			this.holidaysByYear = holidaysByYear;
+		}
+
+		public static Table of(Collection<LocalDate> holidays) {
+			Map<Integer, BitSet> byYear = new HashMap<>();
+			for (LocalDate date : holidays) {
+				byYear.computeIfAbsent(date.getYear(), y -> new BitSet(366)).set(date.getDayOfYear() - 1);
+			}
+			return new Table(byYear);
+		}
+
+		/** Days in [from, to] that are neither Sundays nor holidays. */
+		public int workingDays(LocalDate from, LocalDate to) {
+			return count(from, to, Kind.WORKING);
+		}
+
+		/** Sundays in [from, to]. */
+		public int sundays(LocalDate from, LocalDate to) {
+			return count(from, to, Kind.SUNDAY);
+		}
+
+		/** Holidays in [from, to], including any that fall on a Sunday. */
+		public int holidays(LocalDate from, LocalDate to) {
+			return count(from, to, Kind.HOLIDAY);
+		}
+
+		public boolean isHoliday(LocalDate date) {
+			return year(date.getYear()).holidays.get(date.getDayOfYear() - 1);
+		}
+
+		public boolean isWorkingDay(LocalDate date) {
+			return date.getDayOfWeek() != DayOfWeek.SUNDAY && !isHoliday(date);
+		}
+
+		private int count(LocalDate from, LocalDate to, Kind kind) {
+			if (from.isAfter(to))
+				return 0;
+			int total = 0;
+			for (int y = from.getYear(); y <= to.getYear(); y++) {
+				YearDays days = year(y);
+				int start = y == from.getYear() ? from.getDayOfYear() - 1 : 0;
+				int end = y == to.getYear() ? to.getDayOfYear() : days.length;
+				total += days.count(kind, start, end);
+			}
+			return total;
+		}
+
+		private YearDays year(int year) {
+			return years.computeIfAbsent(year,
+					y -> new YearDays(y, holidaysByYear.getOrDefault(y, new BitSet())));
+		}
+	}
+
+	private enum Kind {
+		WORKING, SUNDAY, HOLIDAY
+	}
+
+	/** One year: bitsets by day-of-year index and prefix sums over them. */
+	private static final class YearDays {
+
+		private final int length;
+		private final BitSet holidays;
+		private final int[] sundaysBefore;
+		private final int[] holidaysBefore;
+		private final int[] workingBefore;
+
+		YearDays(int year, BitSet holidays) {
+			this.length = Year.of(year).length();
+			this.holidays = holidays;
+			this.sundaysBefore = new int[length + 1];
+			this.holidaysBefore = new int[length + 1];
+			this.workingBefore = new int[length + 1];
+
+			BitSet sundays = new BitSet(length);
+			int firstSunday = (DayOfWeek.SUNDAY.getValue() - LocalDate.of(year, 1, 1).getDayOfWeek().getValue() + 7) % 7;
+			for (int d = firstSunday; d < length; d += 7) {
+				sundays.set(d);
+			}
+
+			for (int d = 0; d < length; d++) {
+				boolean sunday = sundays.get(d);
+				boolean holiday = holidays.get(d);
+				sundaysBefore[d + 1] = sundaysBefore[d] + (sunday ? 1 : 0);
+				holidaysBefore[d + 1] = holidaysBefore[d] + (holiday ? 1 : 0);
+				workingBefore[d + 1] = workingBefore[d] + (sunday || holiday ? 0 : 1);
+			}
+		}
+
+		// start inclusive, end exclusive, both day-of-year indexes
+		int count(Kind kind, int start, int end) {
+			int[] prefix = switch (kind) {
+			case WORKING -> workingBefore;
+			case SUNDAY -> sundaysBefore;
+			case HOLIDAY -> holidaysBefore;
+			};
+			return prefix[end] - prefix[start];
+		}
+	}
+}
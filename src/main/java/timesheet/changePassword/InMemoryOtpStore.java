@@ -0,0 +1,79 @@
+package timesheet.changePassword;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node OTP store. Each key maps to one immutable entry, replaced with
+ * an atomic compute, and the map never holds more than maxEntries keys.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+	private final Map<String, OtpEntry> entries = new ConcurrentHashMap<>();
+	private final int maxEntries;
+
+	public InMemoryOtpStore(@Value("${otp.max-entries:10000}") int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	@Override
+	public IssueResult issue(String key, OtpEntry entry, long minIntervalMillis) {
+		if (!entries.containsKey(key) && entries.size() >= maxEntries) {
+			sweepExpired(entry.issuedAt());
+			if (entries.size() >= maxEntries)
+				return IssueResult.FULL;
+		}
+
+		AtomicReference<IssueResult> result = new AtomicReference<>(IssueResult.ISSUED);
+		entries.compute(key, (k, current) -> {
+			if (current != null && !current.isExpired(entry.issuedAt())
+					&& entry.issuedAt() - current.issuedAt() < minIntervalMillis) {
+				result.set(IssueResult.TOO_SOON);
+				return current;
+			}
+			return entry;
+		});
+		return result.get();
+	}
+
+	@Override
+	public OtpEntry get(String key, long now) {
+		OtpEntry entry = entries.get(key);
+		if (entry == null)
+			return null;
+		if (entry.isExpired(now)) {
+			entries.remove(key, entry);
+			return null;
+		}
+		return entry;
+	}
+
+	@Override
+	public void remove(String key) {
+		entries.remove(key);
+	}
+
+	@Override
+	public int sweepExpired(long now) {
+		AtomicInteger removed = new AtomicInteger();
+		entries.values().removeIf(entry -> {
+			boolean expired = entry.isExpired(now);
+			if (expired)
+				removed.incrementAndGet();
+			return expired;
+		});
+		return removed.get();
+	}
+
+	int size() {
+		return entries.size();
+	}
+}
@@ -0,0 +1,66 @@
+package timesheet.changePassword;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * OTP store shared by every application node through the otp_tokens table.
+ * The resend check and the write happen in one upsert, so two nodes cannot
+ * both issue an OTP for the same user inside the resend interval. Size is
+ * bounded by expiry: the sweeper deletes rows past expires_at.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "jdbc")
+public class JdbcOtpStore implements OtpStore {
+
+	// MySQL applies the assignments left to right, so issued_at is changed last
+	private static final String UPSERT = "INSERT INTO otp_tokens (otp_key, otp, issued_at, expires_at) "
+			+ "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+			+ "otp = IF(expires_at < VALUES(issued_at) OR issued_at <= ?, VALUES(otp), otp), "
+			+ "expires_at = IF(expires_at < VALUES(issued_at) OR issued_at <= ?, VALUES(expires_at), expires_at), "
+			+ "issued_at = IF(otp = VALUES(otp) AND expires_at = VALUES(expires_at), VALUES(issued_at), issued_at)";
+
+	private static final String SELECT = "SELECT otp, issued_at, expires_at FROM otp_tokens WHERE otp_key = ?";
+
+	private static final String DELETE = "DELETE FROM otp_tokens WHERE otp_key = ?";
+
+	private static final String DELETE_EXPIRED = "DELETE FROM otp_tokens WHERE expires_at < ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public IssueResult issue(String key, OtpEntry entry, long minIntervalMillis) {
+		long resendAfter = entry.issuedAt() - minIntervalMillis;
+		jdbcTemplate.update(UPSERT, key, entry.otp(), entry.issuedAt(), entry.expiresAt(), resendAfter, resendAfter);
+		OtpEntry stored = find(key);
+		return entry.equals(stored) ? IssueResult.ISSUED : IssueResult.TOO_SOON;
+	}
+
+	@Override
+	public OtpEntry get(String key, long now) {
+		OtpEntry entry = find(key);
+		return entry == null || entry.isExpired(now) ? null : entry;
+	}
+
+	@Override
+	public void remove(String key) {
+		jdbcTemplate.update(DELETE, key);
+	}
+
+	@Override
+	public int sweepExpired(long now) {
+		return jdbcTemplate.update(DELETE_EXPIRED, now);
+	}
+
+	private OtpEntry find(String key) {
+		List<OtpEntry> rows = jdbcTemplate.query(SELECT,
+				(rs, rowNum) -> new OtpEntry(rs.getString("otp"), rs.getLong("issued_at"), rs.getLong("expires_at")),
+				key);
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+}
@@ -0,0 +1,9 @@
+package timesheet.changePassword;
+
+/** One issued OTP; times are epoch milliseconds. */
+public record OtpEntry(String otp, long issuedAt, long expiresAt) {
+
+	public boolean isExpired(long now) {
+		return now > expiresAt;
+	}
+}
@@ -0,0 +1,27 @@
+package timesheet.changePassword;
+
+/**
+ * Where issued OTPs live between /send-otp and /change-password. The default
+ * backend keeps them in memory; set otp.store=jdbc to share them between
+ * application nodes through the database.
+ */
+public interface OtpStore {
+
+	enum IssueResult {
+		ISSUED, TOO_SOON, FULL
+	}
+
+	/**
+	 * Stores the entry for key unless the current one was issued less than
+	 * minIntervalMillis before entry.issuedAt().
+	 */
+	IssueResult issue(String key, OtpEntry entry, long minIntervalMillis);
+
+	/** The live entry for key, or null when missing or expired. */
+	OtpEntry get(String key, long now);
+
+	void remove(String key);
+
+	/** Drops every expired entry and returns how many were removed. */
+	int sweepExpired(long now);
+}
@@ -0,0 +1,57 @@
+package timesheet.changePassword;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/** Row of the shared OTP table used when otp.store=jdbc; written by JdbcOtpStore. */
+@Entity
+@Table(name = "otp_tokens", indexes = @Index(name = "idx_otp_expires", columnList = "expires_at"))
+public class OtpToken {
+
+	@Id
+	@Column(name = "otp_key", length = 191)
+	private String key;
+
+	private String otp;
+
+	@Column(name = "issued_at")
+	private long issuedAt;
+
+	@Column(name = "expires_at")
+	private long expiresAt;
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+
+	public String getOtp() {
+		return otp;
+	}
+
+	public void setOtp(String otp) {
+		this.otp = otp;
+	}
+
+	public long getIssuedAt() {
+		return issuedAt;
+	}
+
+	public void setIssuedAt(long issuedAt) {
+		this.issuedAt = issuedAt;
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(long expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+}
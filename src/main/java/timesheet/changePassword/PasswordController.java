@@ -29,7 +29,15 @@ public class PasswordController {
 
 		String otp = emailService.generateOtp();
 
-		emailService.sendOtp(email, otp);
+		OtpStore.IssueResult result = emailService.sendOtp(email, otp);
+		if (result == OtpStore.IssueResult.TOO_SOON) {
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.body(new OtpResponse(false, "An OTP was sent recently. Please wait before requesting another."));
+		}
+		if (result == OtpStore.IssueResult.FULL) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.body(new OtpResponse(false, "Unable to send an OTP right now. Please try again shortly."));
+		}
 
 		return ResponseEntity.ok(new OtpResponse(true, "OTP sent successfully to your email"));
 	}
@@ -0,0 +1,226 @@
+package timesheet.emails;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.activation.DataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import timesheet.WorkerThreads;
+import timesheet.emails.dao.EmailOutbox;
+import timesheet.emails.repo.EmailOutboxRepository;
+
+/**
+ * Delivers email_outbox rows. Each poll claims a batch of due messages and
+ * splits it across a small worker pool; every worker sends its share with one
+ * JavaMailSender.send(MimeMessage...) call, which reuses a single SMTP
+ * connection for the whole slice. Failed messages are retried with exponential
+ * backoff until max-attempts, then left as FAILED.
+ * <p>
+ * Several nodes may poll the same table: a claim stamps the row with this
+ * node's id and only the rows that carry it are sent. Rows stuck in SENDING
+ * past claim-timeout-seconds belonged to a node that died mid-batch and are
+ * released back to the queue.
+ */
+@Component
+public class EmailDispatcher {
+
+	@Autowired
+	private JavaMailSender mailSender;
+
+	@Autowired
+	private EmailOutboxRepository emailOutboxRepository;
+
+	@Autowired
+	private EmailTemplates emailTemplates;
+
+	@Value("${email.outbox.batch-size:50}")
+	private int batchSize;
+
+	@Value("${email.outbox.workers:2}")
+	private int workers;
+
+	@Value("${email.outbox.max-attempts:6}")
+	private int maxAttempts;
+
+	@Value("${email.outbox.backoff-seconds:30}")
+	private long backoffSeconds;
+
+	@Value("${email.outbox.retention-days:30}")
+	private int retentionDays;
+
+	@Value("${email.outbox.claim-timeout-seconds:600}")
+	private long claimTimeoutSeconds;
+
+	@Autowired
+	private WorkerThreads workerThreads;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final String nodeId = UUID.randomUUID().toString();
+
+	private ExecutorService pool;
+
+	@PostConstruct
+	void start() {
+		pool = workerThreads.fixedPool("email-dispatch", workers);
+	}
+
+	@PreDestroy
+	void stop() {
+		pool.shutdown();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelay = 60_000, fixedDelay = 60_000)
+	public void releaseStaleClaims() {
+		int released = emailOutboxRepository
+				.releaseClaimedBefore(LocalDateTime.now().minusSeconds(claimTimeoutSeconds));
+		if (released > 0) {
+			System.out.println("📧 Re-queued " + released + " emails whose sender stopped mid-batch.");
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${email.outbox.poll-ms:2000}")
+	public void dispatch() {
+		List<EmailOutbox> due = emailOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+		if (due.isEmpty())
+			return;
+
+		List<Long> ids = due.stream().map(EmailOutbox::getId).toList();
+		if (emailOutboxRepository.claim(ids, nodeId, LocalDateTime.now()) == 0)
+			return;
+
+		// Another node may have won some of these rows; send only ours
+		List<EmailOutbox> claimed = emailOutboxRepository.findClaimed(ids, nodeId);
+
+		int slices = Math.min(Math.max(1, workers), claimed.size());
+		int sliceSize = (claimed.size() + slices - 1) / slices;
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < claimed.size(); i += sliceSize) {
+			List<EmailOutbox> slice = claimed.subList(i, Math.min(i + sliceSize, claimed.size()));
+			futures.add(CompletableFuture.runAsync(() -> sendSlice(slice), pool));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+	}
+
+	@Scheduled(cron = "0 15 3 * * *")
+	public void purgeFinished() {
+		emailOutboxRepository.deleteFinishedBefore(LocalDateTime.now().minusDays(retentionDays));
+	}
+
+	private void sendSlice(List<EmailOutbox> slice) {
+		Map<MimeMessage, EmailOutbox> byMessage = new HashMap<>();
+		List<EmailOutbox> failed = new ArrayList<>();
+		Map<EmailOutbox, String> errors = new HashMap<>();
+
+		for (EmailOutbox email : slice) {
+			try {
+				byMessage.put(toMimeMessage(email), email);
+			} catch (Exception e) {
+				failed.add(email);
+				errors.put(email, e.getMessage());
+			}
+		}
+
+		if (!byMessage.isEmpty()) {
+			Timer.Sample sample = Timer.start(meterRegistry);
+			String outcome = "success";
+			try {
+				mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+			} catch (MailSendException e) {
+				outcome = e.getFailedMessages().isEmpty() ? "failure" : "partial";
+				// Only the messages listed here failed; the rest of the batch went out
+				e.getFailedMessages().forEach((message, cause) -> {
+					EmailOutbox email = byMessage.get(message);
+					if (email != null) {
+						failed.add(email);
+						errors.put(email, cause.getMessage());
+					}
+				});
+				if (e.getFailedMessages().isEmpty()) {
+					failed.addAll(byMessage.values());
+					byMessage.values().forEach(email -> errors.put(email, e.getMessage()));
+				}
+			} catch (Exception e) {
+				outcome = "failure";
+				failed.addAll(byMessage.values());
+				byMessage.values().forEach(email -> errors.put(email, e.getMessage()));
+			} finally {
+				// one SMTP session per slice, so this is the batch's round trip
+				sample.stop(Timer.builder("email.send")
+						.tag("outcome", outcome)
+						.publishPercentileHistogram()
+						.register(meterRegistry));
+			}
+		}
+
+		List<Long> sent = new ArrayList<>();
+		for (EmailOutbox email : byMessage.values()) {
+			if (!failed.contains(email))
+				sent.add(email.getId());
+		}
+		if (!sent.isEmpty()) {
+			emailOutboxRepository.markSent(sent, LocalDateTime.now());
+		}
+
+		for (EmailOutbox email : failed) {
+			scheduleRetry(email, errors.get(email));
+		}
+		emailOutboxRepository.saveAll(failed);
+	}
+
+	private void scheduleRetry(EmailOutbox email, String error) {
+		int attempts = email.getAttempts() + 1;
+		email.setAttempts(attempts);
+		email.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+		email.setClaimedBy(null);
+		if (attempts >= maxAttempts) {
+			email.setStatus(EmailOutbox.FAILED);
+			email.setHtmlBody(null);
+			System.err.println("❌ Giving up on email " + email.getId() + " to " + email.getRecipient() + ": " + error);
+			return;
+		}
+		// 30s, 1m, 2m, 4m ... capped at one hour
+		long delay = Math.min(backoffSeconds << (attempts - 1), 3600);
+		email.setStatus(EmailOutbox.PENDING);
+		email.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+	}
+
+	private MimeMessage toMimeMessage(EmailOutbox email) throws Exception {
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true);
+
+		helper.setFrom("timex@tidyds.com", "Tidy Digital Solutions");
+		helper.setTo(email.getRecipient());
+		helper.setSubject(email.getSubject());
+		helper.setText(email.getHtmlBody(), true);
+
+		DataSource logo = emailTemplates.logo();
+		if (email.isInlineLogo() && logo != null) {
+			helper.addInline("logoImage", logo);
+		}
+		return message;
+	}
+}
@@ -0,0 +1,46 @@
+package timesheet.emails;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import timesheet.emails.dao.EmailModel;
+import timesheet.emails.dao.EmailOutbox;
+import timesheet.emails.repo.EmailOutboxRepository;
+
+/**
+ * Entry point for outbound mail. Callers only write a row to email_outbox;
+ * EmailDispatcher delivers it in the background, so no request waits on SMTP.
+ * The rendered body is kept only until the row is SENT or FAILED.
+ */
+@Service
+public class EmailOutboxService {
+
+	@Autowired
+	private EmailOutboxRepository emailOutboxRepository;
+
+	@Autowired
+	private EmailTemplates emailTemplates;
+
+	public EmailOutbox enqueue(String recipient, EmailModel model) {
+		return enqueue(recipient, model.subject(), emailTemplates.render(model));
+	}
+
+	/** Queues one rendered email per recipient with a single saveAll. */
+	public List<EmailOutbox> enqueueAll(Map<String, EmailModel> modelsByRecipient) {
+		List<EmailOutbox> emails = new ArrayList<>();
+		modelsByRecipient.forEach((recipient, model) -> {
+			String html = emailTemplates.render(model);
+			emails.add(new EmailOutbox(recipient, model.subject(), html, html.contains("cid:logoImage")));
+		});
+		return emailOutboxRepository.saveAll(emails);
+	}
+
+	public EmailOutbox enqueue(String recipient, String subject, String htmlBody) {
+		return emailOutboxRepository
+				.save(new EmailOutbox(recipient, subject, htmlBody, htmlBody.contains("cid:logoImage")));
+	}
+}
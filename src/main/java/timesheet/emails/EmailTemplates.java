@@ -0,0 +1,69 @@
+package timesheet.emails;
+
+import java.io.InputStream;
+import java.util.Locale;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import jakarta.activation.DataSource;
+import jakarta.mail.util.ByteArrayDataSource;
+import timesheet.emails.dao.EmailModel;
+
+/**
+ * Renders email bodies from templates/mail/*.html. The engine is private to
+ * mail (independent of the page templates and of devtools' cache switch),
+ * parses each template once at startup and keeps it cached; the inline logo is
+ * read from the classpath once and shared by every message.
+ */
+@Component
+public class EmailTemplates {
+
+	private static final String LOGO_PATH = "static/img/logo.png";
+
+	private final SpringTemplateEngine engine;
+	private final byte[] logoBytes;
+
+	public EmailTemplates() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/mail/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCacheable(true);
+		resolver.setCacheTTLMs(null); // never expire
+
+		engine = new SpringTemplateEngine();
+		engine.setEnableSpringELCompiler(true);
+		engine.setTemplateResolver(resolver);
+
+		// Parse every template now so the first real send pays nothing extra
+		for (EmailModel sample : EmailModel.samples()) {
+			render(sample);
+		}
+
+		logoBytes = loadLogo();
+	}
+
+	public String render(EmailModel model) {
+		return engine.process(model.template(), new Context(Locale.ENGLISH, model.variables()));
+	}
+
+	/** Inline logo for cid:logoImage, or null if the image is not packaged. */
+	public DataSource logo() {
+		return logoBytes != null ? new ByteArrayDataSource(logoBytes, "image/png") : null;
+	}
+
+	private static byte[] loadLogo() {
+		try (InputStream in = new ClassPathResource(LOGO_PATH).getInputStream()) {
+			return in.readAllBytes();
+		} catch (Exception e) {
+			System.err.println("⚠️ Email logo not loaded (" + LOGO_PATH + "): " + e.getMessage());
+			return null;
+		}
+	}
+}
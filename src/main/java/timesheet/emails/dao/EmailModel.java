@@ -0,0 +1,165 @@
+package timesheet.emails.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Typed data for each outbound email. A model names its template under
+ * templates/mail/, its subject line and the variables the template reads.
+ */
+public sealed interface EmailModel {
+
+	String template();
+
+	String subject();
+
+	Map<String, Object> variables();
+
+	record Welcome(String name, String email, String password, String designation, String role)
+			implements EmailModel {
+		public String template() {
+			return "welcome";
+		}
+
+		public String subject() {
+			return "Welcome to the Tidy Digital Solutions";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "email", email, "password", password, "designation", designation, "role", role);
+		}
+	}
+
+	record ProfileUpdated(String name, String email, String password, String designation, String role)
+			implements EmailModel {
+		public String template() {
+			return "profile-updated";
+		}
+
+		public String subject() {
+			return "Updated Profile Details";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "email", email, "password", password, "designation", designation, "role", role);
+		}
+	}
+
+	record InitialSalary(String name, String monthSalary, String yearSalary) implements EmailModel {
+		public String template() {
+			return "initial-salary";
+		}
+
+		public String subject() {
+			return "Your Initial Salary Details from Tidy Digital Solutions";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "monthSalary", monthSalary, "yearSalary", yearSalary);
+		}
+	}
+
+	record SalaryCorrected(String name, int monthlySalary, int yearlySalary) implements EmailModel {
+		public String template() {
+			return "salary-corrected";
+		}
+
+		public String subject() {
+			return "Salary Correction Notification - Tidy Digital Solutions";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "monthlySalary", String.format("%,d", monthlySalary), "yearlySalary",
+					String.format("%,d", yearlySalary));
+		}
+	}
+
+	record SalaryHike(String name, double oldSalary, double newSalary, double hikePercent, String reason)
+			implements EmailModel {
+		public String template() {
+			return "salary-hike";
+		}
+
+		public String subject() {
+			return "Salary Hike Notification - Tidy Digital Solutions";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "oldSalary", String.valueOf(oldSalary), "newSalary", String.valueOf(newSalary),
+					"newYearlySalary", String.valueOf(newSalary * 12), "hikePercent", String.valueOf(hikePercent),
+					"reason", reason);
+		}
+	}
+
+	record PayslipApproved(String name, String month) implements EmailModel {
+		public String template() {
+			return "payslip-approved";
+		}
+
+		public String subject() {
+			return "Payslip Approved for " + month;
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "month", month);
+		}
+	}
+
+	record Assignment(String name, String chargeCode, String description) implements EmailModel {
+		public String template() {
+			return "assignment";
+		}
+
+		public String subject() {
+			return "Tidyds - Charge code Assignment";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "chargeCode", chargeCode, "description", description);
+		}
+	}
+
+	record Otp(String name, String otp) implements EmailModel {
+		public String template() {
+			return "otp";
+		}
+
+		public String subject() {
+			return "Your OTP for Password Change Request";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "otp", otp);
+		}
+	}
+
+	record PasswordChanged(String name, String email, String password) implements EmailModel {
+		public String template() {
+			return "password-changed";
+		}
+
+		public String subject() {
+			return "Confirmation: Your Password Has Been Successfully Changed";
+		}
+
+		public Map<String, Object> variables() {
+			return vars("name", name, "email", email, "password", password);
+		}
+	}
+
+	/** Every template, for warming the engine at startup. */
+	static EmailModel[] samples() {
+		return new EmailModel[] { new Welcome(null, null, null, null, null),
+				new ProfileUpdated(null, null, null, null, null), new InitialSalary(null, null, null),
+				new SalaryCorrected(null, 0, 0), new SalaryHike(null, 0, 0, 0, null), new PayslipApproved(null, null),
+				new Assignment(null, null, null), new Otp(null, null), new PasswordChanged(null, null, null) };
+	}
+
+	private static Map<String, Object> vars(Object... pairs) {
+		Map<String, Object> map = new HashMap<>();
+		for (int i = 0; i < pairs.length; i += 2) {
+			map.put((String) pairs[i], pairs[i + 1]);
+		}
+		return map;
+	}
+}
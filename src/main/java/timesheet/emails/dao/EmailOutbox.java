@@ -0,0 +1,176 @@
+package timesheet.emails.dao;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+
+	public static final String PENDING = "PENDING";
+	public static final String SENDING = "SENDING";
+	public static final String SENT = "SENT";
+	public static final String FAILED = "FAILED";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private String recipient;
+
+	private String subject;
+
+	// cleared once the row is SENT or FAILED; bodies can carry passwords and OTPs
+	@Column(columnDefinition = "MEDIUMTEXT")
+	private String htmlBody;
+
+	private boolean inlineLogo; // body references cid:logoImage
+
+	private String status = PENDING;
+
+	private int attempts;
+
+	private LocalDateTime nextAttemptAt;
+
+	@Column(length = 1000)
+	private String lastError;
+
+	private LocalDateTime createdAt;
+
+	private LocalDateTime sentAt;
+
+	@Column(length = 64)
+	private String claimedBy; // dispatcher node sending the row while SENDING
+
+	private LocalDateTime claimedAt;
+
+	public EmailOutbox() {
+	}
+
+	public EmailOutbox(String recipient, String subject, String htmlBody, boolean inlineLogo) {
+		this.recipient = recipient;
+		this.subject = subject;
+		this.htmlBody = htmlBody;
+		this.inlineLogo = inlineLogo;
+		this.createdAt = LocalDateTime.now();
+		this.nextAttemptAt = this.createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getRecipient() {
+		return recipient;
+	}
+
+	public void setRecipient(String recipient) {
+		this.recipient = recipient;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	public String getHtmlBody() {
+		return htmlBody;
+	}
+
+	public void setHtmlBody(String htmlBody) {
+		this.htmlBody = htmlBody;
+	}
+
+	public boolean isInlineLogo() {
+		return inlineLogo;
+	}
+
+	public void setInlineLogo(boolean inlineLogo) {
+		this.inlineLogo = inlineLogo;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getSentAt() {
+		return sentAt;
+	}
+
+	public void setSentAt(LocalDateTime sentAt) {
+		this.sentAt = sentAt;
+	}
+
+	public String getClaimedBy() {
+		return claimedBy;
+	}
+
+	public void setClaimedBy(String claimedBy) {
+		this.claimedBy = claimedBy;
+	}
+
+	public LocalDateTime getClaimedAt() {
+		return claimedAt;
+	}
+
+	public void setClaimedAt(LocalDateTime claimedAt) {
+		this.claimedAt = claimedAt;
+	}
+
+	@Override
+	public String toString() {
+		return "EmailOutbox [id=" + id + ", recipient=" + recipient + ", subject=" + subject + ", status=" + status
+				+ ", attempts=" + attempts + ", nextAttemptAt=" + nextAttemptAt + "]";
+	}
+
+}
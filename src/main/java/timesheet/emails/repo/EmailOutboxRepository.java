@@ -0,0 +1,55 @@
+package timesheet.emails.repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+import timesheet.emails.dao.EmailOutbox;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+	@Query("SELECT e FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.id")
+	List<EmailOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+	// Only rows still PENDING are taken, so of two nodes polling the same rows each gets a disjoint share
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.claimedBy = :owner, e.claimedAt = :claimedAt "
+			+ "WHERE e.id IN :ids AND e.status = 'PENDING'")
+	int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+			@Param("claimedAt") LocalDateTime claimedAt);
+
+	@Query("SELECT e FROM EmailOutbox e WHERE e.id IN :ids AND e.status = 'SENDING' AND e.claimedBy = :owner "
+			+ "ORDER BY e.id")
+	List<EmailOutbox> findClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox e SET e.status = 'SENT', e.sentAt = :sentAt, e.lastError = NULL, e.htmlBody = NULL, "
+			+ "e.claimedBy = NULL WHERE e.id IN :ids")
+	int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+	// Rows a crashed or stopped node left in SENDING go back to the queue once their claim is older than the timeout
+	@Modifying
+	@Transactional
+	@Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.claimedBy = NULL "
+			+ "WHERE e.status = 'SENDING' AND (e.claimedAt IS NULL OR e.claimedAt < :before)")
+	int releaseClaimedBefore(@Param("before") LocalDateTime before);
+
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM EmailOutbox e WHERE (e.status = 'SENT' AND e.sentAt < :before) "
+			+ "OR (e.status = 'FAILED' AND e.createdAt < :before)")
+	int deleteFinishedBefore(@Param("before") LocalDateTime before);
+
+	long countByStatus(String status);
+}
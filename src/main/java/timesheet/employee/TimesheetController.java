@@ -5,14 +5,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,7 +27,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.google.gson.Gson;
 
 import jakarta.transaction.Transactional;
 import timesheet.admin.dao.AllowedLeaves;
@@ -37,7 +35,9 @@ import timesheet.admin.dao.CasualLeaveTracker;
 import timesheet.admin.repo.AllowedLeavesRepository;
 import timesheet.admin.repo.AssignmentRepository;
 import timesheet.admin.repo.CasualLeaveTrackerRepo;
+import timesheet.admin.service.WorkCalendar;
 import timesheet.employee.dao.EmpExpensedao;
+import timesheet.employee.dao.PeriodDates;
 import timesheet.employee.dao.Preference;
 import timesheet.employee.dao.SummaryEntry;
 import timesheet.employee.dao.TimesheetEntry;
@@ -45,6 +45,9 @@ import timesheet.employee.repo.EmpExpenseRepository;
 import timesheet.employee.repo.PreferenceRepository;
 import timesheet.employee.repo.SummaryRepository;
 import timesheet.employee.repo.TimesheetRepository;
+import timesheet.employee.service.ApprovalCountsService;
+import timesheet.employee.service.ApprovalQueueService;
+import timesheet.employee.service.LeaveLedgerService;
 import timesheet.employee.service.TimesheetService;
 import timesheet.notification.NotificationService;
 import timesheet.payroll.MonthlySummaryService;
@@ -73,9 +76,21 @@ public class TimesheetController {
 	@Autowired
 	private MonthlySummaryService monthlySummaryService;
 
+	@Autowired
+	private WorkCalendar workCalendar;
+
 	@Autowired
 	private CasualLeaveTrackerRepo casualLeaveTrackerRepo;
 
+	@Autowired
+	private LeaveLedgerService leaveLedgerService;
+
+	@Autowired
+	private ApprovalCountsService approvalCountsService;
+
+	@Autowired
+	private ApprovalQueueService approvalQueueService;
+
 	private EmpExpenseRepository expenseRepository;
 
 	private final NotificationService notificationService;
@@ -144,19 +159,16 @@ public class TimesheetController {
 			return ResponseEntity.status(400).body("Leave record not found for user.");
 		}
 
-		List<TimesheetEntry> existingEntriesThisMonth = timesheetRepository.findByUsername(username).stream()
-				.filter(e -> {
-					if (e.getPeriod() == null || !e.getPeriod().contains(" - "))
-						return false;
-					String[] periodSplit = e.getPeriod().split(" - ");
-					String[] dateParts = periodSplit[0].split("/");
-					int month = Integer.parseInt(dateParts[1]);
-					int year = Integer.parseInt(dateParts[2]);
-					return month == currentMonth && year == currentYear;
-				}).collect(Collectors.toList());
+		LocalDate bookedOnDayOff = firstDayOffWithHours(newEntries, PeriodDates.start(period));
+		if (bookedOnDayOff != null) {
+			return ResponseEntity.badRequest()
+					.body("Failed to Save timesheet! ⚠ Hours are entered on "
+							+ bookedOnDayOff.format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
+							+ ", which is a Sunday or a holiday. Please clear that day.");
+		}
 
-		long existingCLCount = existingEntriesThisMonth.stream()
-				.filter(e -> e.getChargeCode() != null && e.getChargeCode().endsWith("Casual Leave")).count();
+		long existingCLCount = (long) leaveLedgerService.monthTotal(username, currentYear, currentMonth,
+				LeaveLedgerService.CASUAL_LEAVE);
 
 		long newCLCount = newEntries.stream()
 				.filter(e -> e.getChargeCode() != null && e.getChargeCode().endsWith("Casual Leave")).count();
@@ -172,40 +184,8 @@ public class TimesheetController {
 
 		timesheetService.saveOrUpdateTimesheet(newEntries);
 
-		List<TimesheetEntry> allUserEntries = timesheetRepository.findByUsername(username);
-
-		double totalSL = 0;
-		double totalFL = 0;
-
-		for (TimesheetEntry entry : allUserEntries) {
-			String entryPeriod = entry.getPeriod();
-			if (entryPeriod == null || !entryPeriod.contains(" - "))
-				continue;
-
-			int entryYear = Integer.parseInt(entryPeriod.split(" - ")[0].split("/")[2]);
-			if (entryYear != currentYear)
-				continue;
-
-			String code = entry.getChargeCode();
-			if (code == null || entry.getHours() == null)
-				continue;
-
-			double hours = 0;
-			try {
-				hours = Double.parseDouble(entry.getHours());
-			} catch (NumberFormatException e) {
-				continue; // Skip invalid hours
-			}
-
-			if (code.endsWith("Sick Leave")) {
-				if (hours >= 4.5 && hours < 9) {
-					totalSL += 0.5;
-				} else if (hours >= 9) {
-					totalSL += 1;
-				}
-				// Less than 4.5 is not counted as leave
-			} else if (code.endsWith("Optional Leave")) totalFL++;
-		}
+		double totalSL = leaveLedgerService.yearTotal(username, currentYear, LeaveLedgerService.SICK_LEAVE);
+		double totalFL = leaveLedgerService.yearTotal(username, currentYear, LeaveLedgerService.OPTIONAL_LEAVE);
 
 		if (totalSL > leave.getSickAllowed()) {
 			return ResponseEntity.badRequest().body(
@@ -221,26 +201,17 @@ public class TimesheetController {
 		allowedleaverepo.save(leave);
 
 		// 🔁 Handle Casual Leave tracking
-		List<TimesheetEntry> entriesForMonth = allUserEntries.stream().filter(e -> {
-			if (e.getPeriod() == null || !e.getPeriod().contains(" - "))
-				return false;
-			String[] splitPeriod = e.getPeriod().split(" - ");
-			String[] dateParts = splitPeriod[0].split("/");
-			int month = Integer.parseInt(dateParts[1]);
-			int year = Integer.parseInt(dateParts[2]);
-			return month == currentMonth && year == currentYear;
-		}).collect(Collectors.toList());
-
-		Set<String> submittedPeriods = entriesForMonth.stream().map(TimesheetEntry::getPeriod)
-				.collect(Collectors.toSet());
+		LocalDate monthStart = LocalDate.of(currentYear, currentMonth, 1);
+		long submittedPeriods = timesheetRepository.countPeriodsStartingBetween(username, monthStart,
+				monthStart.plusMonths(1));
 
-		if (submittedPeriods.size() >= 2) {
+		if (submittedPeriods >= 2) {
 			CasualLeaveTracker tracker = casualLeaveTrackerRepo.findByUsernameAndYearAndMonth(username, currentYear,
 					currentMonth);
 
 			if (tracker != null) {
-				long clDaysTaken = entriesForMonth.stream()
-						.filter(e -> e.getChargeCode() != null && e.getChargeCode().endsWith("Casual Leave")).count();
+				long clDaysTaken = (long) leaveLedgerService.monthTotal(username, currentYear, currentMonth,
+						LeaveLedgerService.CASUAL_LEAVE);
 
 				int currentEarnedCL = leave.getEarncasualLeave();
 				int monthlyCL = 1;
@@ -304,16 +275,11 @@ public class TimesheetController {
 		try {
 			String trimmedChargeCode = chargeCode.trim();
 
-			List<TimesheetEntry> rowsToDelete = timesheetRepository.findByChargeCodeAndPeriod(trimmedChargeCode,
-					period);
-
-			if (rowsToDelete.isEmpty()) {
+			if (timesheetService.deleteRow(trimmedChargeCode, period) == 0) {
 				return ResponseEntity.status(HttpStatus.NOT_FOUND)
 						.body(Collections.singletonMap("error", "Row not found for the selected period"));
 			}
 
-			timesheetRepository.deleteAll(rowsToDelete);
-
 			return ResponseEntity.ok(Collections.singletonMap("success", true));
 		} catch (Exception e) {
 			e.printStackTrace(); // 🔥 Print error in logs
@@ -347,7 +313,7 @@ public class TimesheetController {
 
 			float hours = (entry.getHours() == null || entry.getHours().isEmpty()) ? 0
 					: Float.parseFloat(entry.getHours());
-			float leaveDays = hours / 9.0f;
+			float leaveDays = (float) WorkCalendar.hoursToDays(hours);
 
 			chargeCodeTotals.put(code, chargeCodeTotals.getOrDefault(code, 0f) + hours);
 			totalHours += hours;
@@ -395,6 +361,15 @@ public class TimesheetController {
 		summaryData.put("totalExpense", totalExpense);
 		summaryData.put("entries", processedEntries);
 
+		// what a full period would hold, so the UI can flag under- or over-booking
+		LocalDate periodStart = PeriodDates.start(period);
+		LocalDate periodEnd = PeriodDates.end(period);
+		if (periodStart != null && periodEnd != null) {
+			int workingDays = workCalendar.workingDays(periodStart, periodEnd);
+			summaryData.put("workingDays", workingDays);
+			summaryData.put("expectedHours", workingDays * WorkCalendar.HOURS_PER_DAY);
+		}
+
 		int currentYear = LocalDate.now().getYear();
 		AllowedLeaves allowedLeave = allowedleaverepo.findByUsernameAndYear(username, currentYear);
 		Map<String, Float> allowedLeaveMap = new HashMap<>();
@@ -467,7 +442,7 @@ public class TimesheetController {
 
 		if (existingEntry != null) {
 
-			existingEntry.setSummaryData(new Gson().toJson(summaryData));
+			existingEntry.setSummaryTotals(summaryData);
 			existingEntry.setStatus(status);
 			summaryRepository.save(existingEntry);
 		} else {
@@ -475,11 +450,12 @@ public class TimesheetController {
 			SummaryEntry newEntry = new SummaryEntry(username, period, summaryData, status);
 			summaryRepository.save(newEntry);
 		}
+		approvalCountsService.invalidate();
 	}
 
 	@GetMapping("/getAllSummaries")
 	public ResponseEntity<List<Map<String, Object>>> getAllSummaries() {
-		List<SummaryEntry> summaries = summaryRepository.findAll(); // Fetch all summaries
+		List<SummaryEntry> summaries = summaryRepository.findAllWithChargeCodes(); // Fetch all summaries with their charge codes
 
 		List<Map<String, Object>> responseList = new ArrayList<>();
 
@@ -487,9 +463,9 @@ public class TimesheetController {
 			Map<String, Object> summaryData = new HashMap<>();
 			summaryData.put("username", summary.getUsername());
 			summaryData.put("period", summary.getPeriod());
-			summaryData.put("totalHours", summary.getSummaryData().get("totalHours"));
-			summaryData.put("totalAbsences", summary.getSummaryData().get("totalAbsences"));
-			summaryData.put("entries", summary.getSummaryData().get("entries"));
+			summaryData.put("totalHours", summary.getTotalHours());
+			summaryData.put("totalAbsences", summary.getTotalAbsences());
+			summaryData.put("entries", summary.getEntries());
 
 			responseList.add(summaryData);
 		}
@@ -497,100 +473,80 @@ public class TimesheetController {
 		return ResponseEntity.ok(responseList);
 	}
 
+	@GetMapping("/getAllSummaries/page")
+	public ResponseEntity<Map<String, Object>> getAllSummariesPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		try {
+			return ResponseEntity.ok(approvalQueueService.summariesPage(cursor, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+		}
+	}
+
 	@GetMapping("/getPendingApprovals")
 	public ResponseEntity<List<Map<String, String>>> getPendingApprovals() {
-		List<String> statuses = Arrays.asList("Pending");
-		List<SummaryEntry> pendingSummaries = summaryRepository.findByStatusIn(statuses);
-
-		List<Map<String, String>> responseList = pendingSummaries.stream().map(summary -> {
-			Map<String, String> responseMap = new HashMap<>();
-			responseMap.put("username", summary.getUsername());
-			responseMap.put("period", summary.getPeriod());
-
-			return responseMap;
-		}).collect(Collectors.toList());
-
-		return ResponseEntity.ok(responseList);
+		return ResponseEntity.ok(queueList("Pending"));
 	}
 
 	@GetMapping("/getApprovalslist")
 	public ResponseEntity<List<Map<String, String>>> getApprovalslist() {
-		List<String> statuses = Arrays.asList("Approved");
-		List<SummaryEntry> pendingSummaries = summaryRepository.findByStatusIn(statuses);
+		return ResponseEntity.ok(queueList("Approved"));
+	}
 
-		List<Map<String, String>> responseList = pendingSummaries.stream().map(summary -> {
-			Map<String, String> responseMap = new HashMap<>();
-			responseMap.put("username", summary.getUsername());
-			responseMap.put("period", summary.getPeriod());
+	@GetMapping("/getIssuelist")
+	public ResponseEntity<List<Map<String, String>>> getIssuelist() {
+		return ResponseEntity.ok(queueList("Issue"));
+	}
 
-			return responseMap;
-		}).collect(Collectors.toList());
+	@GetMapping("/getPendingApprovals/page")
+	public ResponseEntity<Map<String, Object>> getPendingApprovalsPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return queuePage("Pending", cursor, size);
+	}
 
-		return ResponseEntity.ok(responseList);
+	@GetMapping("/getApprovalslist/page")
+	public ResponseEntity<Map<String, Object>> getApprovalslistPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return queuePage("Approved", cursor, size);
 	}
 
-	@GetMapping("/getIssuelist")
-	public ResponseEntity<List<Map<String, String>>> getIssuelist() {
-		List<String> statuses = Arrays.asList("Issue");
-		List<SummaryEntry> pendingSummaries = summaryRepository.findByStatusIn(statuses);
+	@GetMapping("/getIssuelist/page")
+	public ResponseEntity<Map<String, Object>> getIssuelistPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size) {
+		return queuePage("Issue", cursor, size);
+	}
 
-		List<Map<String, String>> responseList = pendingSummaries.stream().map(summary -> {
+	// Unpaged lists kept for the current admin page; they read the projection, not full entities
+	private List<Map<String, String>> queueList(String status) {
+		return summaryRepository.findQueue(status).stream().map(summary -> {
 			Map<String, String> responseMap = new HashMap<>();
 			responseMap.put("username", summary.getUsername());
 			responseMap.put("period", summary.getPeriod());
 
 			return responseMap;
 		}).collect(Collectors.toList());
+	}
 
-		return ResponseEntity.ok(responseList);
+	private ResponseEntity<Map<String, Object>> queuePage(String status, String cursor, Integer size) {
+		try {
+			return ResponseEntity.ok(approvalQueueService.queuePage(status, cursor, size));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+		}
 	}
 
 	@GetMapping("/counts")
-	public ResponseEntity<Map<String, Integer>> getCounts(@RequestParam(required = false) String employee,
+	public ResponseEntity<?> getCounts(@RequestParam(required = false) String employee,
 			@RequestParam(required = false) String year, @RequestParam(required = false) String month) {
 
-		List<SummaryEntry> allEntries = summaryRepository.findAll();
-
-		// Filter by employee if given
-		if (employee != null && !employee.isEmpty()) {
-			allEntries = allEntries.stream().filter(entry -> entry.getUsername().equalsIgnoreCase(employee))
-					.collect(Collectors.toList());
-		}
-
-		if (year != null && !year.isEmpty()) {
-			allEntries = allEntries.stream().filter(entry -> {
-				String period = entry.getPeriod();
-				if (period != null && period.length() >= 10) {
-					String yearPart = period.substring(6, 10); // example: "01/06/2025"
-					return yearPart.equals(year);
-				}
-				return false;
-			}).collect(Collectors.toList());
-		}
-
-		if (month != null && !month.isEmpty()) {
-			allEntries = allEntries.stream().filter(entry -> {
-				String period = entry.getPeriod();
-				if (period != null && period.length() >= 5) {
-					String monthPart = period.substring(3, 5); // extract MM from "dd/MM/yyyy"
-					return monthPart.equals(month);
-				}
-				return false;
-			}).collect(Collectors.toList());
+		String employeeFilter = (employee != null && !employee.isEmpty()) ? employee : null;
+		try {
+			Integer yearFilter = (year != null && !year.isEmpty()) ? Integer.valueOf(year) : null;
+			Integer monthFilter = (month != null && !month.isEmpty()) ? Integer.valueOf(month) : null;
+			return ResponseEntity.ok(approvalCountsService.counts(employeeFilter, yearFilter, monthFilter));
+		} catch (IllegalArgumentException e) { // NumberFormatException included
+			return ResponseEntity.badRequest().body(Map.of("error", "Invalid year or month: " + e.getMessage()));
 		}
-
-		// Count based on status
-		int pending = (int) allEntries.stream().filter(entry -> "Pending".equalsIgnoreCase(entry.getStatus())).count();
-		int approved = (int) allEntries.stream().filter(entry -> "Approved".equalsIgnoreCase(entry.getStatus()))
-				.count();
-		int issue = (int) allEntries.stream().filter(entry -> "Issue".equalsIgnoreCase(entry.getStatus())).count();
-
-		Map<String, Integer> counts = new HashMap<>();
-		counts.put("pending", pending);
-		counts.put("approved", approved);
-		counts.put("issue", issue);
-
-		return ResponseEntity.ok(counts);
 	}
 
 	@PostMapping("/approve")
@@ -749,6 +705,30 @@ public class TimesheetController {
 		}
 	}
 
+	/**
+	 * The first Sunday or holiday with hours on it. Grid column n (cellIndex
+	 * "row_n") is the n-th day of the period; the page leaves those columns out
+	 * when it saves, so a value there comes from a stale page or another client.
+	 */
+	private LocalDate firstDayOffWithHours(List<TimesheetEntry> entries, LocalDate periodStart) {
+		if (periodStart == null)
+			return null;
+		WorkCalendar.Table calendar = workCalendar.current();
+		for (TimesheetEntry entry : entries) {
+			try {
+				if (entry.getHours() == null || Double.parseDouble(entry.getHours().trim()) <= 0)
+					continue;
+				int column = Integer.parseInt(entry.getCellIndex().split("_")[1]);
+				LocalDate day = periodStart.plusDays(column - 1);
+				if (!calendar.isWorkingDay(day))
+					return day;
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException | NullPointerException ignored) {
+				// unreadable hours or cell index: nothing to check
+			}
+		}
+		return null;
+	}
+
 	@GetMapping("/timesheetGrid")
 	public Map<String, Map<String, String>> getGrid(@RequestParam String username, @RequestParam String period) {
 
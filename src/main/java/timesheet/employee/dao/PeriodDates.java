@@ -0,0 +1,41 @@
+package timesheet.employee.dao;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Splits a timesheet period such as "01/03/2024 - 15/03/2024" into its start
+ * and end dates. Unparseable periods, including impossible dates such as
+ * 31/02, yield null rather than an exception.
+ */
+public final class PeriodDates {
+
+	private static final DateTimeFormatter PERIOD_DATE = DateTimeFormatter.ofPattern("d/MM/uuuu")
+			.withResolverStyle(ResolverStyle.STRICT);
+
+	private PeriodDates() {
+	}
+
+	public static LocalDate start(String period) {
+		return part(period, 0);
+	}
+
+	public static LocalDate end(String period) {
+		return part(period, 1);
+	}
+
+	private static LocalDate part(String period, int index) {
+		if (period == null || !period.contains(" - "))
+			return null;
+		String[] split = period.split(" - ");
+		if (split.length != 2)
+			return null;
+		try {
+			return LocalDate.parse(split[index].trim(), PERIOD_DATE);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
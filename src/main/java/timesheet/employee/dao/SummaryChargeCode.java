@@ -0,0 +1,74 @@
+package timesheet.employee.dao;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "summary_charge_codes")
+public class SummaryChargeCode {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "summary_id")
+	private SummaryEntry summary;
+
+	private String chargeCode;
+
+	private Double hours;
+
+	public SummaryChargeCode() {
+	}
+
+	public SummaryChargeCode(SummaryEntry summary, String chargeCode, Double hours) {
+		this.summary = summary;
+		this.chargeCode = chargeCode;
+		this.hours = hours;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public SummaryEntry getSummary() {
+		return summary;
+	}
+
+	public void setSummary(SummaryEntry summary) {
+		this.summary = summary;
+	}
+
+	public String getChargeCode() {
+		return chargeCode;
+	}
+
+	public void setChargeCode(String chargeCode) {
+		this.chargeCode = chargeCode;
+	}
+
+	public Double getHours() {
+		return hours;
+	}
+
+	public void setHours(Double hours) {
+		this.hours = hours;
+	}
+
+	@Override
+	public String toString() {
+		return "SummaryChargeCode [id=" + id + ", chargeCode=" + chargeCode + ", hours=" + hours + "]";
+	}
+
+}
@@ -0,0 +1,40 @@
+package timesheet.employee.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position (periodStart, id) of the last row on a page, passed to the
+ * client as an opaque URL-safe token.
+ */
+public record SummaryCursor(LocalDate periodStart, Long id) {
+
+	public static SummaryCursor after(SummaryListItem item) {
+		return new SummaryCursor(item.getPeriodStart(), item.getId());
+	}
+
+	public String encode() {
+		String raw = periodStart + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns null for a missing token and throws IllegalArgumentException for a
+	 * malformed one.
+	 */
+	public static SummaryCursor decode(String token) {
+		if (token == null || token.isBlank())
+			return null;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|");
+			if (parts.length != 2)
+				throw new IllegalArgumentException("Invalid cursor");
+			return new SummaryCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
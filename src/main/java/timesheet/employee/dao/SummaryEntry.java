@@ -1,20 +1,29 @@
 package timesheet.employee.dao;
 
-import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "summary_entries")
+@Table(name = "summary_entries", indexes = {
+		@Index(name = "idx_summary_user_period_start", columnList = "username, period_start"),
+		@Index(name = "idx_summary_status_period_start", columnList = "status, period_start") })
 public class SummaryEntry {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,25 +31,90 @@ public class SummaryEntry {
 	private String username;
 	private String period;
 
+	@JsonIgnore
+	private LocalDate periodStart;
+
+	@JsonIgnore
+	private LocalDate periodEnd;
+
+	// Legacy Gson blob; only read by SummaryTotalsBackfill for rows saved before the typed columns
+	@JsonIgnore
 	@Column(columnDefinition = "TEXT")
 	private String summaryData;
 
 	private String status;
 
+	private Double totalHours;
+	private Double totalAbsences;
+	private Double totalLop;
+	private Double casualLeaveDays;
+	private Double sickLeaveDays;
+	private Double paidLeaveDays;
+	private Double floatingDays;
+	private Double totalExpense;
+
+	@JsonIgnore
+	@OneToMany(mappedBy = "summary", cascade = CascadeType.ALL, orphanRemoval = true)
+	private List<SummaryChargeCode> chargeCodes = new ArrayList<>();
+
 	public SummaryEntry() {
 	}
 
 	public SummaryEntry(String username, String period, Map<String, Object> summaryData, String status) {
 		this.username = username;
-		this.period = period;
+		setPeriod(period);
 		this.status = status;
-		this.summaryData = new Gson().toJson(summaryData);
+		setSummaryTotals(summaryData);
+	}
+
+	/**
+	 * Copies the totals and per-charge-code rows of a /getSummary map into the
+	 * typed columns.
+	 */
+	public void setSummaryTotals(Map<String, Object> summaryData) {
+		this.totalHours = number(summaryData.get("totalHours"));
+		this.totalAbsences = number(summaryData.get("totalAbsences"));
+		this.totalLop = number(summaryData.get("totallop"));
+		this.casualLeaveDays = number(summaryData.get("casualLeaveDays"));
+		this.sickLeaveDays = number(summaryData.get("sickLeaveDays"));
+		this.paidLeaveDays = number(summaryData.get("paidLeaveDays"));
+		this.floatingDays = number(summaryData.get("floating"));
+		this.totalExpense = number(summaryData.get("totalExpense"));
+
+		this.chargeCodes.clear();
+		if (summaryData.get("entries") instanceof List<?> rows) {
+			for (Object row : rows) {
+				if (row instanceof Map<?, ?> map) {
+					this.chargeCodes.add(new SummaryChargeCode(this, String.valueOf(map.get("chargeCode")),
+							number(map.get("hours"))));
+				}
+			}
+		}
+		this.summaryData = null;
+	}
+
+	/** Charge-code rows in the shape the UI has always received. */
+	public List<Map<String, String>> getEntries() {
+		List<Map<String, String>> entries = new ArrayList<>();
+		for (SummaryChargeCode chargeCode : chargeCodes) {
+			Map<String, String> row = new HashMap<>();
+			row.put("chargeCode", chargeCode.getChargeCode());
+			row.put("hours", String.valueOf(chargeCode.getHours()));
+			entries.add(row);
+		}
+		return entries;
 	}
 
-	public Map<String, Object> getSummaryData() {
-		Type mapType = new TypeToken<Map<String, Object>>() {
-		}.getType();
-		return new Gson().fromJson(this.summaryData, mapType);
+	private static Double number(Object value) {
+		if (value == null)
+			return 0.0;
+		if (value instanceof Number n)
+			return n.doubleValue();
+		try {
+			return Double.parseDouble(value.toString());
+		} catch (NumberFormatException e) {
+			return 0.0;
+		}
 	}
 
 	public Long getId() {
@@ -65,6 +139,27 @@ public class SummaryEntry {
 
 	public void setPeriod(String period) {
 		this.period = period;
+		this.periodStart = PeriodDates.start(period);
+		this.periodEnd = PeriodDates.end(period);
+	}
+
+	public LocalDate getPeriodStart() {
+		return periodStart;
+	}
+
+	public LocalDate getPeriodEnd() {
+		return periodEnd;
+	}
+
+	@PrePersist
+	@PreUpdate
+	protected void syncPeriodDates() {
+		this.periodStart = PeriodDates.start(period);
+		this.periodEnd = PeriodDates.end(period);
+	}
+
+	public String getSummaryData() {
+		return summaryData;
 	}
 
 	public void setSummaryData(String summaryData) {
@@ -79,10 +174,48 @@ public class SummaryEntry {
 		this.status = status;
 	}
 
+	public Double getTotalHours() {
+		return totalHours;
+	}
+
+	public Double getTotalAbsences() {
+		return totalAbsences;
+	}
+
+	public Double getTotalLop() {
+		return totalLop;
+	}
+
+	public Double getCasualLeaveDays() {
+		return casualLeaveDays;
+	}
+
+	public Double getSickLeaveDays() {
+		return sickLeaveDays;
+	}
+
+	public Double getPaidLeaveDays() {
+		return paidLeaveDays;
+	}
+
+	public Double getFloatingDays() {
+		return floatingDays;
+	}
+
+	public Double getTotalExpense() {
+		return totalExpense;
+	}
+
+	public List<SummaryChargeCode> getChargeCodes() {
+		return chargeCodes;
+	}
+
 	@Override
 	public String toString() {
-		return "SummaryEntry [id=" + id + ", username=" + username + ", period=" + period + ", summaryData="
-				+ summaryData + ", status=" + status + "]";
+		return "SummaryEntry [id=" + id + ", username=" + username + ", period=" + period + ", status=" + status
+				+ ", totalHours=" + totalHours + ", totalAbsences=" + totalAbsences + ", totalLop=" + totalLop
+				+ ", casualLeaveDays=" + casualLeaveDays + ", sickLeaveDays=" + sickLeaveDays + ", paidLeaveDays="
+				+ paidLeaveDays + ", floatingDays=" + floatingDays + ", totalExpense=" + totalExpense + "]";
 	}
 
 }
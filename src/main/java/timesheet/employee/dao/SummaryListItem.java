@@ -0,0 +1,20 @@
+package timesheet.employee.dao;
+
+import java.time.LocalDate;
+
+/**
+ * Columns the approval queues show, read straight from summary_entries without
+ * loading the entity.
+ */
+public interface SummaryListItem {
+
+	Long getId();
+
+	String getUsername();
+
+	String getPeriod();
+
+	String getStatus();
+
+	LocalDate getPeriodStart();
+}
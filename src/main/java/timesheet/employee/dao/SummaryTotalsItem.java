@@ -0,0 +1,11 @@
+package timesheet.employee.dao;
+
+/**
+ * Queue columns plus the two totals /getAllSummaries shows.
+ */
+public interface SummaryTotalsItem extends SummaryListItem {
+
+	Double getTotalHours();
+
+	Double getTotalAbsences();
+}
@@ -0,0 +1,32 @@
+package timesheet.employee.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cells touched by one grid save: {@code removed} holds the stored values that
+ * were deleted or overwritten, {@code added} the values written in their place.
+ */
+public class TimesheetChangeSet {
+
+	private final List<TimesheetEntry> removed = new ArrayList<>();
+	private final List<TimesheetEntry> added = new ArrayList<>();
+
+	public List<TimesheetEntry> getRemoved() {
+		return removed;
+	}
+
+	public List<TimesheetEntry> getAdded() {
+		return added;
+	}
+
+	public boolean isEmpty() {
+		return removed.isEmpty() && added.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "TimesheetChangeSet [removed=" + removed.size() + ", added=" + added.size() + "]";
+	}
+
+}
@@ -1,13 +1,22 @@
 package timesheet.employee.dao;
 
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "timesheet_entries")
+@Table(name = "timesheet_entries", indexes = {
+		@Index(name = "idx_timesheet_user_period_start", columnList = "username, period_start"),
+		@Index(name = "idx_timesheet_user_period", columnList = "username, period") })
 public class TimesheetEntry {
 
 	@Id
@@ -18,6 +27,12 @@ public class TimesheetEntry {
 
 	private String period; // Example: "01/03/2024 - 15/03/2024"
 
+	@JsonIgnore
+	private LocalDate periodStart;
+
+	@JsonIgnore
+	private LocalDate periodEnd;
+
 	private String chargeCode;
 
 	private String cellIndex;
@@ -29,7 +44,7 @@ public class TimesheetEntry {
 
 	public TimesheetEntry(String username, String period, String chargeCode, String cellIndex, String hours) {
 		this.username = username;
-		this.period = period;
+		setPeriod(period);
 		this.chargeCode = chargeCode;
 		this.cellIndex = cellIndex;
 		this.hours = hours;
@@ -57,6 +72,23 @@ public class TimesheetEntry {
 
 	public void setPeriod(String period) {
 		this.period = period;
+		this.periodStart = PeriodDates.start(period);
+		this.periodEnd = PeriodDates.end(period);
+	}
+
+	public LocalDate getPeriodStart() {
+		return periodStart;
+	}
+
+	public LocalDate getPeriodEnd() {
+		return periodEnd;
+	}
+
+	@PrePersist
+	@PreUpdate
+	protected void syncPeriodDates() {
+		this.periodStart = PeriodDates.start(period);
+		this.periodEnd = PeriodDates.end(period);
 	}
 
 	public String getChargeCode() {
@@ -0,0 +1,75 @@
+package timesheet.employee.repo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.employee.dao.PeriodDates;
+
+/**
+ * Chunked backfill of period_start / period_end for rows written before the
+ * columns existed. Chunks advance by id rather than by "period_start IS NULL",
+ * so a period that does not parse is left NULL and skipped instead of being
+ * selected again on every pass.
+ */
+@Repository
+public class PeriodDatesBatchRepository {
+
+	public static final String TIMESHEET_ENTRIES = "timesheet_entries";
+	public static final String SUMMARY_ENTRIES = "summary_entries";
+
+	private static final Set<String> TABLES = Set.of(TIMESHEET_ENTRIES, SUMMARY_ENTRIES);
+
+	private static final int CHUNK_SIZE = 5000;
+	private static final int BATCH_SIZE = 200;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/** One pass over the next chunk of unfilled rows with an id above afterId. */
+	public Chunk backfillChunk(String table, long afterId) {
+		if (!TABLES.contains(table))
+			throw new IllegalArgumentException("Not a period table: " + table);
+
+		List<Row> rows = jdbcTemplate.query(
+				"SELECT id, period FROM " + table + " WHERE period_start IS NULL AND id > ? ORDER BY id LIMIT "
+						+ CHUNK_SIZE,
+				(rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("period")), afterId);
+		if (rows.isEmpty())
+			return new Chunk(afterId, 0, 0);
+
+		List<Row> parsed = new ArrayList<>(rows.size());
+		for (Row row : rows) {
+			if (row.start() != null && row.end() != null)
+				parsed.add(row);
+		}
+
+		jdbcTemplate.batchUpdate("UPDATE " + table + " SET period_start = ?, period_end = ? WHERE id = ?", parsed,
+				BATCH_SIZE, (ps, row) -> {
+					ps.setObject(1, row.start());
+					ps.setObject(2, row.end());
+					ps.setLong(3, row.id());
+				});
+		return new Chunk(rows.get(rows.size() - 1).id(), rows.size(), parsed.size());
+	}
+
+	/** Last id scanned, rows scanned and rows actually filled in one chunk. */
+	public record Chunk(long lastId, int scanned, int filled) {
+	}
+
+	private record Row(long id, String period) {
+
+		LocalDate start() {
+			return PeriodDates.start(period);
+		}
+
+		LocalDate end() {
+			return PeriodDates.end(period);
+		}
+	}
+}
@@ -1,13 +1,17 @@
 package timesheet.employee.repo;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import timesheet.employee.dao.SummaryEntry;
+import timesheet.employee.dao.SummaryListItem;
+import timesheet.employee.dao.SummaryTotalsItem;
 
 @Repository
 public interface SummaryRepository extends JpaRepository<SummaryEntry, Long> {
@@ -21,11 +25,41 @@ public interface SummaryRepository extends JpaRepository<SummaryEntry, Long> {
 
 	int countByStatusAndUsername(String status, String username);
 
-	@Query("SELECT COUNT(s) FROM SummaryEntry s WHERE s.status = :status "
+	@Query("SELECT s.id AS id, s.username AS username, s.period AS period, s.status AS status, "
+			+ "s.periodStart AS periodStart FROM SummaryEntry s WHERE s.status = :status ORDER BY s.periodStart, s.id")
+	List<SummaryListItem> findQueue(@Param("status") String status);
+
+	// Keyset page over the (status, period_start) index; rows whose period could not be dated have no position
+	@Query("SELECT s.id AS id, s.username AS username, s.period AS period, s.status AS status, "
+			+ "s.periodStart AS periodStart FROM SummaryEntry s WHERE s.status = :status AND s.periodStart IS NOT NULL "
+			+ "AND (:afterStart IS NULL OR s.periodStart > :afterStart "
+			+ "OR (s.periodStart = :afterStart AND s.id > :afterId)) ORDER BY s.periodStart, s.id")
+	List<SummaryListItem> findQueuePage(@Param("status") String status, @Param("afterStart") LocalDate afterStart,
+			@Param("afterId") Long afterId, Pageable pageable);
+
+	@Query("SELECT s.id AS id, s.username AS username, s.period AS period, s.status AS status, "
+			+ "s.periodStart AS periodStart, s.totalHours AS totalHours, s.totalAbsences AS totalAbsences "
+			+ "FROM SummaryEntry s WHERE s.periodStart IS NOT NULL "
+			+ "AND (:afterStart IS NULL OR s.periodStart > :afterStart "
+			+ "OR (s.periodStart = :afterStart AND s.id > :afterId)) ORDER BY s.periodStart, s.id")
+	List<SummaryTotalsItem> findTotalsPage(@Param("afterStart") LocalDate afterStart, @Param("afterId") Long afterId,
+			Pageable pageable);
+
+	@Query("SELECT c.summary.id, c.chargeCode, c.hours FROM SummaryChargeCode c WHERE c.summary.id IN :ids")
+	List<Object[]> findChargeCodesBySummaryIds(@Param("ids") List<Long> ids);
+
+	@Query("SELECT DISTINCT s FROM SummaryEntry s LEFT JOIN FETCH s.chargeCodes")
+	List<SummaryEntry> findAllWithChargeCodes();
+
+	@Query("SELECT s.id FROM SummaryEntry s WHERE s.totalHours IS NULL AND s.summaryData IS NOT NULL "
+			+ "AND s.id > :afterId ORDER BY s.id")
+	List<Long> findIdsWithLegacySummaryData(@Param("afterId") long afterId, Pageable pageable);
+
+	@Query("SELECT s.status, COUNT(s) FROM SummaryEntry s WHERE s.status IN ('Pending', 'Approved', 'Issue') "
 			+ "AND (:employee IS NULL OR s.username = :employee) "
-			+ "AND (:periodFilter IS NULL OR s.period LIKE CONCAT('%/', :month, '/', :year, '%'))")
-	int countFiltered(@Param("status") String status, @Param("employee") String employee, @Param("year") String year,
-			@Param("month") String month, @Param("periodFilter") String periodFilter // optional, for safe fallback
-	);
+			+ "AND (:from IS NULL OR s.periodStart >= :from) AND (:to IS NULL OR s.periodStart < :to) "
+			+ "AND (:month IS NULL OR EXTRACT(MONTH FROM s.periodStart) = :month) GROUP BY s.status")
+	List<Object[]> countByStatusFiltered(@Param("employee") String employee, @Param("from") LocalDate from,
+			@Param("to") LocalDate to, @Param("month") Integer month);
 
 }
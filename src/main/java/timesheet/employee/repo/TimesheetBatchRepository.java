@@ -0,0 +1,75 @@
+package timesheet.employee.repo;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.employee.dao.TimesheetEntry;
+
+/**
+ * Set-based access to timesheet_entries. Rows read here are plain objects, not
+ * managed entities, and writes go through JDBC batching so a full grid costs a
+ * handful of round trips instead of one per cell.
+ */
+@Repository
+public class TimesheetBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String SELECT_CELLS = "SELECT id, username, period, charge_code, cell_index, hours "
+			+ "FROM timesheet_entries WHERE username = ? AND period = ?";
+
+	private static final String INSERT_CELL = "INSERT INTO timesheet_entries "
+			+ "(username, period, period_start, period_end, charge_code, cell_index, hours) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String UPDATE_CELL = "UPDATE timesheet_entries SET charge_code = ?, hours = ? WHERE id = ?";
+
+	private static final String DELETE_CELL = "DELETE FROM timesheet_entries WHERE id = ?";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public List<TimesheetEntry> findCells(String username, String period) {
+		return jdbcTemplate.query(SELECT_CELLS, (rs, rowNum) -> {
+			TimesheetEntry entry = new TimesheetEntry(rs.getString("username"), rs.getString("period"),
+					rs.getString("charge_code"), rs.getString("cell_index"), rs.getString("hours"));
+			entry.setId(rs.getLong("id"));
+			return entry;
+		}, username, period);
+	}
+
+	public void insertAll(List<TimesheetEntry> entries) {
+		if (entries.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_CELL, entries, BATCH_SIZE, (ps, entry) -> {
+			ps.setString(1, entry.getUsername());
+			ps.setString(2, entry.getPeriod());
+			ps.setObject(3, entry.getPeriodStart());
+			ps.setObject(4, entry.getPeriodEnd());
+			ps.setString(5, entry.getChargeCode());
+			ps.setString(6, entry.getCellIndex());
+			ps.setString(7, entry.getHours());
+		});
+	}
+
+	public void updateAll(List<TimesheetEntry> entries) {
+		if (entries.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(UPDATE_CELL, entries, BATCH_SIZE, (ps, entry) -> {
+			ps.setString(1, entry.getChargeCode());
+			ps.setString(2, entry.getHours());
+			ps.setLong(3, entry.getId());
+		});
+	}
+
+	public void deleteAll(List<TimesheetEntry> entries) {
+		if (entries.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(DELETE_CELL, entries, BATCH_SIZE, (ps, entry) -> ps.setLong(1, entry.getId()));
+	}
+}
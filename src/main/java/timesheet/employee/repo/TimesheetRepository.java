@@ -1,9 +1,12 @@
 package timesheet.employee.repo;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import timesheet.employee.dao.TimesheetEntry;
@@ -21,4 +24,12 @@ public interface TimesheetRepository extends JpaRepository<TimesheetEntry, Long>
 
 	List<TimesheetEntry> findByUsername(String username);
 
+	@Query("SELECT DISTINCT t.username FROM TimesheetEntry t")
+	List<String> findDistinctUsernames();
+
+	@Query("SELECT COUNT(DISTINCT t.period) FROM TimesheetEntry t WHERE t.username = :username "
+			+ "AND t.periodStart >= :from AND t.periodStart < :to")
+	long countPeriodsStartingBetween(@Param("username") String username, @Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+
 }
@@ -0,0 +1,93 @@
+package timesheet.employee.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import timesheet.employee.repo.SummaryRepository;
+
+/**
+ * Pending / Approved / Issue counts for the approval dashboard. One GROUP BY
+ * per filter combination, cached briefly because admins poll the dashboard;
+ * any summary status change clears the cache. Every employee/year/month
+ * combination is a key, so expired entries are swept once the cache is full
+ * and results are simply not cached while it stays full.
+ */
+@Service
+public class ApprovalCountsService {
+
+	private static final long TTL_MILLIS = 30_000;
+
+	@Autowired
+	private SummaryRepository summaryRepository;
+
+	@Value("${approval.counts.max-entries:1000}")
+	private int maxEntries;
+
+	private final Map<String, CachedCounts> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * @throws IllegalArgumentException if year is outside 1-9999 or month
+	 *                                  outside 1-12
+	 */
+	public Map<String, Integer> counts(String employee, Integer year, Integer month) {
+		if (year != null && (year < 1 || year > 9999))
+			throw new IllegalArgumentException("year must be between 1 and 9999");
+		if (month != null && (month < 1 || month > 12))
+			throw new IllegalArgumentException("month must be between 1 and 12");
+
+		String key = employee + "|" + year + "|" + month;
+		long now = System.currentTimeMillis();
+
+		CachedCounts cached = cache.get(key);
+		if (cached != null) {
+			if (cached.expiresAt > now)
+				return cached.counts;
+			cache.remove(key, cached);
+		}
+
+		Map<String, Integer> counts = load(employee, year, month);
+		if (cache.size() >= maxEntries)
+			cache.values().removeIf(entry -> entry.expiresAt <= now);
+		if (cache.size() < maxEntries)
+			cache.put(key, new CachedCounts(counts, now + TTL_MILLIS));
+		return counts;
+	}
+
+	public void invalidate() {
+		cache.clear();
+	}
+
+	private Map<String, Integer> load(String employee, Integer year, Integer month) {
+		// Year (and month) become a period_start range so the (status, period_start) index applies
+		LocalDate from = null;
+		LocalDate to = null;
+		Integer monthFilter = month;
+		if (year != null && month != null) {
+			from = LocalDate.of(year, month, 1);
+			to = from.plusMonths(1);
+			monthFilter = null;
+		} else if (year != null) {
+			from = LocalDate.of(year, 1, 1);
+			to = from.plusYears(1);
+		}
+
+		Map<String, Integer> counts = new HashMap<>();
+		counts.put("pending", 0);
+		counts.put("approved", 0);
+		counts.put("issue", 0);
+
+		for (Object[] row : summaryRepository.countByStatusFiltered(employee, from, to, monthFilter)) {
+			counts.put(((String) row[0]).toLowerCase(), ((Number) row[1]).intValue());
+		}
+		return Map.copyOf(counts);
+	}
+
+	private record CachedCounts(Map<String, Integer> counts, long expiresAt) {
+	}
+}
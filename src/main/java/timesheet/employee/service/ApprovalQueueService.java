@@ -0,0 +1,104 @@
+package timesheet.employee.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import timesheet.employee.dao.SummaryCursor;
+import timesheet.employee.dao.SummaryListItem;
+import timesheet.employee.dao.SummaryTotalsItem;
+import timesheet.employee.repo.SummaryRepository;
+
+/**
+ * Keyset-paginated approval queues ordered by (periodStart, id). Each page
+ * reads only the listed columns and returns the cursor for the next page, or
+ * null when there is none.
+ */
+@Service
+public class ApprovalQueueService {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 500;
+
+	@Autowired
+	private SummaryRepository summaryRepository;
+
+	public Map<String, Object> queuePage(String status, String cursorToken, Integer size) {
+		SummaryCursor cursor = SummaryCursor.decode(cursorToken);
+		int limit = pageSize(size);
+
+		// One extra row tells us whether another page exists
+		List<SummaryListItem> rows = summaryRepository.findQueuePage(status,
+				cursor != null ? cursor.periodStart() : null, cursor != null ? cursor.id() : null,
+				PageRequest.of(0, limit + 1));
+
+		boolean hasMore = rows.size() > limit;
+		List<SummaryListItem> page = hasMore ? rows.subList(0, limit) : rows;
+
+		List<Map<String, String>> items = new ArrayList<>();
+		for (SummaryListItem row : page) {
+			Map<String, String> item = new HashMap<>();
+			item.put("username", row.getUsername());
+			item.put("period", row.getPeriod());
+			item.put("status", row.getStatus());
+			items.add(item);
+		}
+
+		return response(items, hasMore ? SummaryCursor.after(page.get(page.size() - 1)).encode() : null);
+	}
+
+	public Map<String, Object> summariesPage(String cursorToken, Integer size) {
+		SummaryCursor cursor = SummaryCursor.decode(cursorToken);
+		int limit = pageSize(size);
+
+		List<SummaryTotalsItem> rows = summaryRepository.findTotalsPage(cursor != null ? cursor.periodStart() : null,
+				cursor != null ? cursor.id() : null, PageRequest.of(0, limit + 1));
+
+		boolean hasMore = rows.size() > limit;
+		List<SummaryTotalsItem> page = hasMore ? rows.subList(0, limit) : rows;
+
+		// Charge codes for the whole page in one query
+		Map<Long, List<Map<String, String>>> entriesById = new HashMap<>();
+		if (!page.isEmpty()) {
+			List<Long> ids = page.stream().map(SummaryTotalsItem::getId).toList();
+			for (Object[] row : summaryRepository.findChargeCodesBySummaryIds(ids)) {
+				Map<String, String> entry = new HashMap<>();
+				entry.put("chargeCode", (String) row[1]);
+				entry.put("hours", String.valueOf(row[2]));
+				entriesById.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(entry);
+			}
+		}
+
+		List<Map<String, Object>> items = new ArrayList<>();
+		for (SummaryTotalsItem row : page) {
+			Map<String, Object> item = new HashMap<>();
+			item.put("username", row.getUsername());
+			item.put("period", row.getPeriod());
+			item.put("status", row.getStatus());
+			item.put("totalHours", row.getTotalHours());
+			item.put("totalAbsences", row.getTotalAbsences());
+			item.put("entries", entriesById.getOrDefault(row.getId(), new ArrayList<>()));
+			items.add(item);
+		}
+
+		return response(items, hasMore ? SummaryCursor.after(page.get(page.size() - 1)).encode() : null);
+	}
+
+	private int pageSize(Integer size) {
+		if (size == null || size < 1)
+			return DEFAULT_PAGE_SIZE;
+		return Math.min(size, MAX_PAGE_SIZE);
+	}
+
+	private Map<String, Object> response(List<?> items, String nextCursor) {
+		Map<String, Object> response = new HashMap<>();
+		response.put("items", items);
+		response.put("nextCursor", nextCursor);
+		return response;
+	}
+}
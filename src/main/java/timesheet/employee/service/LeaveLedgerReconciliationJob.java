@@ -0,0 +1,54 @@
+package timesheet.employee.service;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import timesheet.admin.repo.LeaveLedgerRepo;
+import timesheet.employee.repo.TimesheetRepository;
+
+@Component
+public class LeaveLedgerReconciliationJob {
+
+	private final LeaveLedgerService leaveLedgerService;
+	private final LeaveLedgerRepo leaveLedgerRepo;
+	private final TimesheetRepository timesheetRepository;
+
+	public LeaveLedgerReconciliationJob(LeaveLedgerService leaveLedgerService, LeaveLedgerRepo leaveLedgerRepo,
+			TimesheetRepository timesheetRepository) {
+		this.leaveLedgerService = leaveLedgerService;
+		this.leaveLedgerRepo = leaveLedgerRepo;
+		this.timesheetRepository = timesheetRepository;
+	}
+
+	// 🌱 First start after the ledger was introduced: build it from history
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedLedgerIfEmpty() {
+		if (leaveLedgerRepo.count() == 0) {
+			reconcileAll();
+		}
+	}
+
+	// 🔄 Every night at 02:30, rebuild any user whose ledger drifted from timesheet_entries
+	@Scheduled(cron = "0 30 2 * * *")
+	public void reconcileAll() {
+		List<String> usernames = timesheetRepository.findDistinctUsernames();
+
+		int corrected = 0;
+		for (String username : usernames) {
+			try {
+				if (leaveLedgerService.reconcile(username)) {
+					corrected++;
+					System.out.println("⚠ Leave ledger drift corrected for " + username);
+				}
+			} catch (Exception e) {
+				System.err.println("Leave ledger reconciliation failed for " + username + ": " + e.getMessage());
+			}
+		}
+
+		System.out.println("📒 Leave ledger reconciled for " + usernames.size() + " users, " + corrected + " corrected.");
+	}
+}
@@ -0,0 +1,160 @@
+package timesheet.employee.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+import timesheet.admin.dao.LeaveLedger;
+import timesheet.admin.repo.LeaveLedgerRepo;
+import timesheet.employee.dao.PeriodDates;
+import timesheet.employee.dao.TimesheetChangeSet;
+import timesheet.employee.dao.TimesheetEntry;
+import timesheet.employee.repo.TimesheetRepository;
+
+/**
+ * Running leave totals per (username, year, month, leave type), kept in step
+ * with timesheet_entries by applying only the cells a save changed.
+ */
+@Service
+public class LeaveLedgerService {
+
+	public static final String SICK_LEAVE = "Sick Leave";
+	public static final String OPTIONAL_LEAVE = "Optional Leave";
+	public static final String CASUAL_LEAVE = "Casual Leave";
+
+	@Autowired
+	private LeaveLedgerRepo leaveLedgerRepo;
+
+	@Autowired
+	private TimesheetRepository timesheetRepository;
+
+	@Transactional
+	public void apply(TimesheetChangeSet changes) {
+		Map<String, Double> deltas = new HashMap<>();
+		Map<String, LeaveLedger> keys = new HashMap<>();
+
+		for (TimesheetEntry entry : changes.getRemoved()) {
+			accumulate(entry, -1, deltas, keys);
+		}
+		for (TimesheetEntry entry : changes.getAdded()) {
+			accumulate(entry, 1, deltas, keys);
+		}
+
+		for (Map.Entry<String, Double> delta : deltas.entrySet()) {
+			if (delta.getValue() == 0)
+				continue;
+			LeaveLedger key = keys.get(delta.getKey());
+			leaveLedgerRepo.addDays(key.getUsername(), key.getYear(), key.getMonth(), key.getLeaveType(),
+					delta.getValue());
+		}
+	}
+
+	public double yearTotal(String username, int year, String leaveType) {
+		return leaveLedgerRepo.sumDaysForYear(username, year, leaveType);
+	}
+
+	public double monthTotal(String username, int year, int month, String leaveType) {
+		return leaveLedgerRepo.sumDaysForMonth(username, year, month, leaveType);
+	}
+
+	/**
+	 * Recomputes the ledger for one user from timesheet_entries and rewrites it if
+	 * it has drifted. Returns true when a correction was needed.
+	 */
+	@Transactional
+	public boolean reconcile(String username) {
+		Map<String, Double> expected = new HashMap<>();
+		Map<String, LeaveLedger> keys = new HashMap<>();
+		for (TimesheetEntry entry : timesheetRepository.findByUsername(username)) {
+			accumulate(entry, 1, expected, keys);
+		}
+		expected.values().removeIf(days -> days == 0);
+
+		List<LeaveLedger> stored = leaveLedgerRepo.findByUsername(username);
+		Map<String, Double> actual = new HashMap<>();
+		for (LeaveLedger row : stored) {
+			if (row.getDays() != 0)
+				actual.put(key(row.getUsername(), row.getYear(), row.getMonth(), row.getLeaveType()), row.getDays());
+		}
+
+		if (actual.equals(expected))
+			return false;
+
+		leaveLedgerRepo.deleteByUsername(username);
+		leaveLedgerRepo.flush();
+		for (Map.Entry<String, Double> row : expected.entrySet()) {
+			LeaveLedger key = keys.get(row.getKey());
+			key.setDays(row.getValue());
+			leaveLedgerRepo.save(key);
+		}
+		return true;
+	}
+
+	private void accumulate(TimesheetEntry entry, int sign, Map<String, Double> totals,
+			Map<String, LeaveLedger> keys) {
+		String type = leaveType(entry.getChargeCode());
+		if (type == null)
+			return;
+
+		LocalDate periodStart = entry.getPeriodStart() != null ? entry.getPeriodStart()
+				: PeriodDates.start(entry.getPeriod());
+		if (periodStart == null)
+			return;
+
+		Double days = leaveDays(type, entry.getHours());
+		if (days == null)
+			return;
+
+		int year = periodStart.getYear();
+		int month = periodStart.getMonthValue();
+		String key = key(entry.getUsername(), year, month, type);
+		keys.putIfAbsent(key, new LeaveLedger(entry.getUsername(), year, month, type, 0));
+		totals.merge(key, sign * days, Double::sum);
+	}
+
+	private String leaveType(String chargeCode) {
+		if (chargeCode == null)
+			return null;
+		if (chargeCode.endsWith(SICK_LEAVE))
+			return SICK_LEAVE;
+		if (chargeCode.endsWith(OPTIONAL_LEAVE))
+			return OPTIONAL_LEAVE;
+		if (chargeCode.endsWith(CASUAL_LEAVE))
+			return CASUAL_LEAVE;
+		return null;
+	}
+
+	// Same weights /saveTimesheet has always used: CL counts cells, OL counts
+	// cells with valid hours, SL counts half or full days.
+	private Double leaveDays(String type, String rawHours) {
+		if (CASUAL_LEAVE.equals(type))
+			return 1.0;
+
+		if (rawHours == null)
+			return null;
+		double hours;
+		try {
+			hours = Double.parseDouble(rawHours);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+
+		if (OPTIONAL_LEAVE.equals(type))
+			return 1.0;
+
+		if (hours >= 9)
+			return 1.0;
+		if (hours >= 4.5)
+			return 0.5;
+		return 0.0; // Less than 4.5 is not counted as leave
+	}
+
+	private String key(String username, int year, int month, String leaveType) {
+		return username + "|" + year + "|" + month + "|" + leaveType;
+	}
+}
@@ -0,0 +1,61 @@
+package timesheet.employee.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import timesheet.admin.service.SecondLevelCache;
+import timesheet.employee.repo.PeriodDatesBatchRepository;
+import timesheet.employee.repo.PeriodDatesBatchRepository.Chunk;
+
+/**
+ * One-off migration for rows written before period_start / period_end existed.
+ * Runs in chunks on every start and is a no-op once all rows are filled. Rows
+ * whose period is not a real date range stay NULL and are reported.
+ */
+@Component
+public class PeriodDatesBackfill {
+
+	private final PeriodDatesBatchRepository periodDatesBatchRepository;
+	private final SecondLevelCache secondLevelCache;
+
+	public PeriodDatesBackfill(PeriodDatesBatchRepository periodDatesBatchRepository,
+			SecondLevelCache secondLevelCache) {
+		this.periodDatesBatchRepository = periodDatesBatchRepository;
+		this.secondLevelCache = secondLevelCache;
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		int filled = backfill(PeriodDatesBatchRepository.TIMESHEET_ENTRIES)
+				+ backfill(PeriodDatesBatchRepository.SUMMARY_ENTRIES);
+		if (filled > 0)
+			secondLevelCache.evictQueryResults();
+	}
+
+	private int backfill(String table) {
+		long lastId = 0;
+		int filled = 0;
+		int skipped = 0;
+		try {
+			Chunk chunk;
+			while ((chunk = periodDatesBatchRepository.backfillChunk(table, lastId)).scanned() > 0) {
+				lastId = chunk.lastId();
+				filled += chunk.filled();
+				skipped += chunk.scanned() - chunk.filled();
+			}
+		} catch (Exception e) {
+			System.err.println("❌ Period dates backfill of " + table + " stopped after id " + lastId + ": "
+					+ e.getMessage());
+		}
+
+		if (filled > 0)
+			System.out.println("📅 Period dates backfilled: " + filled + " " + table + " rows.");
+		if (skipped > 0)
+			System.err.println("⚠ " + skipped + " " + table + " rows have an unparseable period and were left empty.");
+		return filled;
+	}
+}
@@ -0,0 +1,97 @@
+package timesheet.employee.service;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+import timesheet.employee.dao.SummaryEntry;
+import timesheet.employee.repo.SummaryRepository;
+
+/**
+ * One-off migration from the old summary_data JSON blob to the typed summary
+ * columns and summary_charge_codes rows. Each chunk commits on its own and the
+ * next one starts after the last id seen, so a blob that does not parse is
+ * left in place, reported, and skipped instead of being selected again.
+ */
+@Component
+public class SummaryTotalsBackfill {
+
+	private static final int CHUNK_SIZE = 500;
+
+	private final SummaryRepository summaryRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public SummaryTotalsBackfill(SummaryRepository summaryRepository, TransactionTemplate transactionTemplate) {
+		this.summaryRepository = summaryRepository;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		Gson gson = new Gson();
+		Type type = new TypeToken<Map<String, Object>>() {
+		}.getType();
+
+		long lastId = 0;
+		int migrated = 0;
+		List<Long> skipped = new ArrayList<>();
+		try {
+			Chunk chunk;
+			do {
+				long afterId = lastId;
+				chunk = transactionTemplate.execute(status -> {
+					List<Long> ids = summaryRepository.findIdsWithLegacySummaryData(afterId,
+							PageRequest.of(0, CHUNK_SIZE));
+					if (ids.isEmpty())
+						return new Chunk(afterId, 0, 0, List.of());
+
+					int filled = 0;
+					List<Long> unreadable = new ArrayList<>();
+					for (SummaryEntry entry : summaryRepository.findAllById(ids)) {
+						Map<String, Object> data;
+						try {
+							data = gson.fromJson(entry.getSummaryData(), type);
+						} catch (JsonSyntaxException e) {
+							data = null;
+						}
+						if (data == null) {
+							unreadable.add(entry.getId());
+							continue;
+						}
+						entry.setSummaryTotals(data);
+						filled++;
+					}
+					return new Chunk(ids.get(ids.size() - 1), ids.size(), filled, unreadable);
+				});
+				lastId = chunk.lastId();
+				migrated += chunk.filled();
+				skipped.addAll(chunk.unreadable());
+			} while (chunk.scanned() == CHUNK_SIZE);
+		} catch (Exception e) {
+			System.err.println("❌ Summary totals backfill stopped after id " + lastId + ": " + e.getMessage());
+		}
+
+		if (migrated > 0) {
+			System.out.println("📊 Summary totals migrated to typed columns: " + migrated + " rows.");
+		}
+		if (!skipped.isEmpty()) {
+			System.err.println("⚠ " + skipped.size()
+					+ " summaries have unreadable summary_data and were left as they are, ids: " + skipped);
+		}
+	}
+
+	/** Last id scanned, rows scanned, rows migrated and ids whose blob did not parse. */
+	private record Chunk(long lastId, int scanned, int filled, List<Long> unreadable) {
+	}
+}
@@ -1,14 +1,23 @@
 package timesheet.employee.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
 import timesheet.employee.dao.SummaryEntry;
+import timesheet.employee.dao.TimesheetChangeSet;
 import timesheet.employee.dao.TimesheetEntry;
 import timesheet.employee.repo.SummaryRepository;
+import timesheet.employee.repo.TimesheetBatchRepository;
 import timesheet.employee.repo.TimesheetRepository;
 
 @Service
@@ -20,34 +29,99 @@ public class TimesheetService {
 	@Autowired
 	private SummaryRepository summaryRepository;
 
+	@Autowired
+	private TimesheetBatchRepository timesheetBatchRepository;
+
+	@Autowired
+	private ApprovalCountsService approvalCountsService;
+
+	@Autowired
+	private LeaveLedgerService leaveLedgerService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
 	public List<TimesheetEntry> getTimesheet(String username, String period) {
 		return timesheetRepository.findByUsernameAndPeriod(username, period);
 	}
 
-	public void saveOrUpdateTimesheet(List<TimesheetEntry> timesheetEntries) {
-		for (TimesheetEntry entry : timesheetEntries) {
-			Optional<TimesheetEntry> existingEntry = timesheetRepository
-					.findByUsernameAndPeriodAndCellIndex(entry.getUsername(), entry.getPeriod(), entry.getCellIndex());
+	/**
+	 * Applies a grid save as one set-based operation per (username, period): the
+	 * stored cells are loaded once, diffed against the submitted cells in memory
+	 * and the resulting inserts, updates and deletes are sent as JDBC batches.
+	 * The leave ledger delta commits in the same transaction as the cells.
+	 */
+	@Transactional
+	public TimesheetChangeSet saveOrUpdateTimesheet(List<TimesheetEntry> timesheetEntries) {
 
-			if (existingEntry.isPresent()) {
-				TimesheetEntry updateEntry = existingEntry.get();
+		Map<String, Map<String, TimesheetEntry>> submittedByGrid = new LinkedHashMap<>();
+		for (TimesheetEntry entry : timesheetEntries) {
+			submittedByGrid.computeIfAbsent(entry.getUsername() + "|" + entry.getPeriod(), k -> new LinkedHashMap<>())
+					.put(entry.getCellIndex(), entry); // last value for a cell wins, as before
+		}
 
-				if (entry.getHours() == null || entry.getHours().trim().isEmpty()) {
+		List<TimesheetEntry> inserts = new ArrayList<>();
+		List<TimesheetEntry> updates = new ArrayList<>();
+		List<TimesheetEntry> deletes = new ArrayList<>();
+		TimesheetChangeSet changes = new TimesheetChangeSet();
 
-					timesheetRepository.delete(updateEntry);
-				} else {
+		for (Map<String, TimesheetEntry> submitted : submittedByGrid.values()) {
+			TimesheetEntry first = submitted.values().iterator().next();
 
-					updateEntry.setChargeCode(entry.getChargeCode());
-					updateEntry.setHours(entry.getHours());
-					timesheetRepository.save(updateEntry);
-				}
-			} else {
-				if (entry.getHours() != null && !entry.getHours().trim().isEmpty()) {
+			Map<String, TimesheetEntry> existingByCell = new HashMap<>();
+			for (TimesheetEntry existing : timesheetBatchRepository.findCells(first.getUsername(), first.getPeriod())) {
+				existingByCell.putIfAbsent(existing.getCellIndex(), existing);
+			}
 
-					timesheetRepository.save(entry);
+			for (TimesheetEntry entry : submitted.values()) {
+				TimesheetEntry existing = existingByCell.get(entry.getCellIndex());
+				boolean blank = entry.getHours() == null || entry.getHours().trim().isEmpty();
+
+				if (existing != null) {
+					if (blank) {
+						deletes.add(existing);
+						changes.getRemoved().add(existing);
+					} else if (!Objects.equals(existing.getChargeCode(), entry.getChargeCode())
+							|| !Objects.equals(existing.getHours(), entry.getHours())) {
+						changes.getRemoved().add(new TimesheetEntry(existing.getUsername(), existing.getPeriod(),
+								existing.getChargeCode(), existing.getCellIndex(), existing.getHours()));
+						existing.setChargeCode(entry.getChargeCode());
+						existing.setHours(entry.getHours());
+						updates.add(existing);
+						changes.getAdded().add(existing);
+					}
+				} else if (!blank) {
+					inserts.add(entry);
+					changes.getAdded().add(entry);
 				}
 			}
 		}
+
+		timesheetBatchRepository.deleteAll(deletes);
+		timesheetBatchRepository.updateAll(updates);
+		timesheetBatchRepository.insertAll(inserts);
+
+		// Cells were written behind Hibernate's back; drop any managed copies so
+		// later reads in this request see the new values.
+		entityManager.clear();
+
+		leaveLedgerService.apply(changes);
+		return changes;
+	}
+
+	/** Deletes a charge-code row from a period and takes its leave out of the ledger. */
+	@Transactional
+	public int deleteRow(String chargeCode, String period) {
+		List<TimesheetEntry> rows = timesheetRepository.findByChargeCodeAndPeriod(chargeCode, period);
+		if (rows.isEmpty())
+			return 0;
+
+		timesheetRepository.deleteAll(rows);
+
+		TimesheetChangeSet changes = new TimesheetChangeSet();
+		changes.getRemoved().addAll(rows);
+		leaveLedgerService.apply(changes);
+		return rows.size();
 	}
 
 	public boolean approveTimesheet(String username, String period) {
@@ -57,6 +131,7 @@ public class TimesheetService {
 		if (timesheet != null) {
 			timesheet.setStatus("Approved");
 			summaryRepository.save(timesheet);
+			approvalCountsService.invalidate();
 			return true;
 		}
 
@@ -71,6 +146,7 @@ public class TimesheetService {
 
 			timesheet.setStatus("Issue");
 			summaryRepository.save(timesheet);
+			approvalCountsService.invalidate();
 
 			return true;
 		}
@@ -0,0 +1,29 @@
+package timesheet.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * @Timed on services, the PDF renderer and the email senders; per-request
+ * statement counting at the DataSource. Controllers and repositories are
+ * timed by Spring Boot itself (http.server.requests,
+ * spring.data.repository.invocations), and Hibernate statistics are bound as
+ * hibernate.* meters; all are scraped at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+
+	// static so the post-processor is registered before the DataSource bean is created
+	@Bean
+	public static QueryCountingDataSource queryCountingDataSource() {
+		return new QueryCountingDataSource();
+	}
+}
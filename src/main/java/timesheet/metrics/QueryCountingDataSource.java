@@ -0,0 +1,67 @@
+package timesheet.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps the DataSource so every statement handed to the driver is counted
+ * against the current request, whether it came from Hibernate or from
+ * JdbcTemplate. A prepared statement counts once however many times it is
+ * executed or batched, which is how a JDBC batch reaches the database.
+ */
+public class QueryCountingDataSource implements BeanPostProcessor {
+
+	private static final Set<String> PREPARE = Set.of("prepareStatement", "prepareCall");
+	private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+			"executeLargeUpdate", "addBatch");
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass()))
+			return proxy(DataSource.class, dataSource, new Counting(dataSource));
+		return bean;
+	}
+
+	private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+		return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+
+	private record Counting(Object target) implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("equals"))
+				return proxy == args[0];
+			if (name.equals("hashCode"))
+				return System.identityHashCode(proxy);
+			if ((PREPARE.contains(name) || (EXECUTE.contains(name) && target instanceof Statement))
+					&& args != null && args.length > 0 && args[0] instanceof String sql)
+				RequestQueries.record(sql);
+
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+
+			// plain statements carry their SQL on execute, so they need wrapping too
+			if (result instanceof Connection connection && name.equals("getConnection"))
+				return proxy(Connection.class, connection, new Counting(connection));
+			if (result instanceof Statement statement && name.equals("createStatement"))
+				return proxy(Statement.class, statement, new Counting(statement));
+			return result;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package timesheet.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request made
+ * (http.server.requests.queries, tagged like http.server.requests) and logs
+ * requests that are slow or unusually chatty with the database together with
+ * their most repeated statements.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+	private static final int MAX_SQL_LENGTH = 200;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${metrics.slow-request-ms:500}")
+	private long slowRequestMs;
+
+	@Value("${metrics.query-warn-threshold:50}")
+	private int queryWarnThreshold;
+
+	@Value("${metrics.slow-request-top-sql:5}")
+	private int topSql;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		RequestQueries queries = RequestQueries.begin();
+		long started = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RequestQueries.end();
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+			String uri = uriPattern(request);
+
+			DistributionSummary.builder("http.server.requests.queries")
+					.description("SQL statements sent to the database per request")
+					.baseUnit("statements")
+					.tag("method", request.getMethod())
+					.tag("uri", uri)
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(queries.count());
+
+			if (elapsedMs >= slowRequestMs || queries.count() >= queryWarnThreshold) {
+				logRequest(request.getMethod(), uri, elapsedMs, queries);
+			}
+		}
+	}
+
+	private void logRequest(String method, String uri, long elapsedMs, RequestQueries queries) {
+		StringBuilder line = new StringBuilder();
+		line.append("🐢 ").append(method).append(' ').append(uri).append(" took ").append(elapsedMs).append(" ms, ")
+				.append(queries.count()).append(" SQL statements");
+		for (Map.Entry<String, Integer> statement : queries.top(topSql)) {
+			String sql = statement.getKey();
+			if (sql.length() > MAX_SQL_LENGTH)
+				sql = sql.substring(0, MAX_SQL_LENGTH) + "…";
+			line.append(System.lineSeparator()).append("    ").append(statement.getValue()).append("× ").append(sql);
+		}
+		System.out.println(line);
+	}
+
+	// the mapped pattern (/run/{runId}), never the raw path, so the tag stays low-cardinality
+	private static String uriPattern(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern != null ? pattern.toString() : "UNKNOWN";
+	}
+}
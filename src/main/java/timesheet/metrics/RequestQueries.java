@@ -0,0 +1,52 @@
+package timesheet.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements sent to the database on the current request thread. The
+ * request filter opens one per request; statements run outside a request
+ * (scheduled jobs, worker pools) are not attributed to anything.
+ */
+final class RequestQueries {
+
+	private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+	// a request looping over distinct statements should not grow this without bound
+	private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+	private int count;
+	private final Map<String, Integer> bySql = new HashMap<>();
+
+	static RequestQueries begin() {
+		RequestQueries queries = new RequestQueries();
+		CURRENT.set(queries);
+		return queries;
+	}
+
+	static void end() {
+		CURRENT.remove();
+	}
+
+	static void record(String sql) {
+		RequestQueries queries = CURRENT.get();
+		if (queries == null)
+			return;
+		queries.count++;
+		if (queries.bySql.size() < MAX_DISTINCT_STATEMENTS || queries.bySql.containsKey(sql))
+			queries.bySql.merge(sql, 1, Integer::sum);
+	}
+
+	int count() {
+		return count;
+	}
+
+	/** The most repeated statements first; repeats of one statement are what an N+1 looks like. */
+	List<Map.Entry<String, Integer>> top(int limit) {
+		List<Map.Entry<String, Integer>> entries = new ArrayList<>(bySql.entrySet());
+		entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+		return entries.subList(0, Math.min(limit, entries.size()));
+	}
+}
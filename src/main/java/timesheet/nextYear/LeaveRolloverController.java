@@ -0,0 +1,30 @@
+package timesheet.nextYear;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class LeaveRolloverController {
+
+	@Autowired
+	private LeaveRolloverService leaveRolloverService;
+
+	/** Runs (or, by default, previews) the financial-year rollover on demand. */
+	@PostMapping("/leaveRollover")
+	public ResponseEntity<?> rollover(@RequestParam(required = false) Integer fyStartYear,
+			@RequestParam(defaultValue = "true") boolean dryRun) {
+		int year = fyStartYear != null ? fyStartYear : LeaveRolloverService.financialYearStart(LocalDate.now());
+		try {
+			return ResponseEntity.ok(leaveRolloverService.run(year, dryRun));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package timesheet.nextYear;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import timesheet.WorkerThreads;
+import timesheet.admin.dao.AllowedLeaves;
+import timesheet.admin.dao.CasualLeaveTracker;
+import timesheet.admin.repo.EmployeeRepo;
+import timesheet.admin.repo.LeaveScaffoldBatchRepository;
+import timesheet.admin.service.SecondLevelCache;
+
+/**
+ * Creates the leave records of a financial year for every active employee.
+ * Existing keys are loaded in bulk and only the missing rows are computed, so
+ * a run is idempotent: after a crash the next run (or the startup catch-up)
+ * simply writes whatever the committed chunks did not. The running flag only
+ * stops overlapping runs on this node; the unique keys on both tables keep
+ * concurrent runs on other nodes from adding a second copy of a row.
+ */
+@Service
+public class LeaveRolloverService {
+
+	private static final int CHUNK_SIZE = 500;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private LeaveScaffoldBatchRepository leaveScaffoldBatchRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private SecondLevelCache secondLevelCache;
+
+	@Autowired
+	private WorkerThreads workerThreads;
+
+	@Value("${leave.rollover.threads:2}")
+	private int threads;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	public static int financialYearStart(LocalDate date) {
+		return date.getMonthValue() >= 4 ? date.getYear() : date.getYear() - 1;
+	}
+
+	/** Rows a user is missing for the financial year starting in April of fyStartYear. */
+	public static void missingRows(String username, int fyStartYear, Set<String> allowedUsernames,
+			Set<String> trackerKeys, List<AllowedLeaves> allowedOut, List<CasualLeaveTracker> trackersOut) {
+		if (!allowedUsernames.contains(username)) {
+			allowedOut.add(new AllowedLeaves(username, fyStartYear));
+		}
+		for (int month = 4; month <= 12; month++) {
+			if (!trackerKeys.contains(LeaveScaffoldBatchRepository.trackerKey(username, fyStartYear, month)))
+				trackersOut.add(new CasualLeaveTracker(username, fyStartYear, month));
+		}
+		for (int month = 1; month <= 3; month++) {
+			if (!trackerKeys.contains(LeaveScaffoldBatchRepository.trackerKey(username, fyStartYear + 1, month)))
+				trackersOut.add(new CasualLeaveTracker(username, fyStartYear + 1, month));
+		}
+	}
+
+	/**
+	 * Fills in the financial year. With dryRun nothing is written and the report
+	 * says what would have been created.
+	 */
+	public RolloverReport run(int fyStartYear, boolean dryRun) {
+		if (!running.compareAndSet(false, true))
+			throw new IllegalStateException("A leave rollover is already running");
+		try {
+			return doRun(fyStartYear, dryRun);
+		} finally {
+			running.set(false);
+		}
+	}
+
+	// The April 1st cron is missed if the application is down at that moment
+	@EventListener(ApplicationReadyEvent.class)
+	public void catchUpCurrentYear() {
+		try {
+			RolloverReport report = run(financialYearStart(LocalDate.now()), false);
+			if (report.allowedLeavesCreated() + report.trackersCreated() > 0)
+				System.out.println("📆 Leave rollover catch-up: " + report);
+		} catch (Exception e) {
+			System.err.println("Leave rollover catch-up skipped: " + e.getMessage());
+		}
+	}
+
+	private RolloverReport doRun(int fyStartYear, boolean dryRun) {
+		long started = System.currentTimeMillis();
+
+		/* ── 1. Load users and existing keys (three queries) ───────── */
+		List<String> usernames = employeeRepo.findAllUsernames();
+		Set<String> allowedUsernames = leaveScaffoldBatchRepository.findAllowedLeaveUsernames(fyStartYear);
+		Set<String> trackerKeys = leaveScaffoldBatchRepository.findTrackerKeys(fyStartYear);
+		long loaded = System.currentTimeMillis();
+
+		/* ── 2. Set difference, chunked by user ───────────────────── */
+		List<Chunk> chunks = new ArrayList<>();
+		int allowedCount = 0;
+		int trackerCount = 0;
+		for (int i = 0; i < usernames.size(); i += CHUNK_SIZE) {
+			Chunk chunk = new Chunk();
+			for (String username : usernames.subList(i, Math.min(i + CHUNK_SIZE, usernames.size()))) {
+				missingRows(username, fyStartYear, allowedUsernames, trackerKeys, chunk.allowed, chunk.trackers);
+			}
+			if (!chunk.allowed.isEmpty() || !chunk.trackers.isEmpty()) {
+				chunks.add(chunk);
+				allowedCount += chunk.allowed.size();
+				trackerCount += chunk.trackers.size();
+			}
+		}
+		long diffed = System.currentTimeMillis();
+
+		/* ── 3. One transaction per chunk, chunks in parallel ──────── */
+		if (!dryRun && !chunks.isEmpty()) {
+			ExecutorService workers = workerThreads.fixedPool("leave-rollover", Math.min(threads, chunks.size()));
+			try {
+				List<CompletableFuture<Void>> writes = new ArrayList<>();
+				for (Chunk chunk : chunks) {
+					writes.add(CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+						leaveScaffoldBatchRepository.insertAllowedLeaves(chunk.allowed);
+						leaveScaffoldBatchRepository.insertTrackers(chunk.trackers);
+					}), workers));
+				}
+				CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+			} finally {
+				workers.shutdown();
+				secondLevelCache.evictQueryResults();
+			}
+		}
+		long written = System.currentTimeMillis();
+
+		return new RolloverReport(fyStartYear, dryRun, usernames.size(), allowedCount, trackerCount, chunks.size(),
+				loaded - started, diffed - loaded, written - diffed, written - started);
+	}
+
+	private static final class Chunk {
+		private final List<AllowedLeaves> allowed = new ArrayList<>();
+		private final List<CasualLeaveTracker> trackers = new ArrayList<>();
+	}
+}
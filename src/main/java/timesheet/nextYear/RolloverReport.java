@@ -0,0 +1,6 @@
+package timesheet.nextYear;
+
+/** Outcome and phase timings of one financial-year leave rollover. */
+public record RolloverReport(int fyStartYear, boolean dryRun, int employees, int allowedLeavesCreated,
+		int trackersCreated, int chunks, long loadMs, long diffMs, long writeMs, long totalMs) {
+}
@@ -0,0 +1,36 @@
+package timesheet.notification;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import jakarta.transaction.Transactional;
+
+/** JDBC batch inserts into notifications for the buffered NotificationService. */
+@Repository
+public class NotificationBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String INSERT_NOTIFICATION = "INSERT INTO notifications (username, message, readed, timestamp) "
+			+ "VALUES (?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Transactional
+	public void insertAll(List<Notificationdao> notifications) {
+		if (notifications.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, notifications, BATCH_SIZE, (ps, n) -> {
+			ps.setString(1, n.getUsername());
+			ps.setString(2, n.getMessage());
+			ps.setBoolean(3, n.isReaded());
+			ps.setTimestamp(4, Timestamp.valueOf(n.getTimestamp()));
+		});
+	}
+}
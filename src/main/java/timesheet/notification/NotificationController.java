@@ -1,19 +1,29 @@
 package timesheet.notification;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/notifications")
 public class NotificationController {
+
+	private static final int DEFAULT_PAGE_SIZE = 50;
+	private static final int MAX_PAGE_SIZE = 500;
+
 	@Autowired
 	private NotificationRepository notificationRepository;
 
@@ -22,6 +32,63 @@ public class NotificationController {
 		return notificationRepository.findByUsernameAndReadedFalse(username);
 	}
 
+	/** Newest unread first, one keyset page at a time: {items, nextCursor}. */
+	@GetMapping("/unread/{username}/page")
+	public ResponseEntity<?> getUnreadPage(@PathVariable String username,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+		NotificationCursor after;
+		try {
+			after = NotificationCursor.decode(cursor);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		}
+		int limit = Math.min(Math.max(size != null ? size : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+
+		// One extra row tells us whether another page exists
+		List<Notificationdao> rows = notificationRepository.findUnreadPage(username,
+				after != null ? after.timestamp() : null, after != null ? after.id() : null,
+				PageRequest.of(0, limit + 1));
+		boolean hasMore = rows.size() > limit;
+		List<Notificationdao> page = hasMore ? rows.subList(0, limit) : rows;
+
+		Map<String, Object> response = new HashMap<>();
+		response.put("items", page);
+		response.put("nextCursor", hasMore ? NotificationCursor.after(page.get(page.size() - 1)).encode() : null);
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping("/unread/{username}/count")
+	public Map<String, Long> getUnreadCount(@PathVariable String username) {
+		return Map.of("count", notificationRepository.countByUsernameAndReadedFalse(username));
+	}
+
+	/**
+	 * Marks many notifications read with one UPDATE. The body names the user and
+	 * either "ids" or "upToId" (everything unread with an id at or below it).
+	 */
+	@PostMapping("/markRead")
+	public ResponseEntity<?> markManyAsRead(@RequestBody Map<String, Object> request) {
+		Object username = request.get("username");
+		if (!(username instanceof String user) || user.isBlank())
+			return ResponseEntity.badRequest().body(Map.of("error", "username is required"));
+
+		int updated;
+		if (request.get("ids") instanceof List<?> ids && !ids.isEmpty()) {
+			List<Long> idList = new ArrayList<>();
+			for (Object id : ids) {
+				if (!(id instanceof Number number))
+					return ResponseEntity.badRequest().body(Map.of("error", "ids must be numbers"));
+				idList.add(number.longValue());
+			}
+			updated = notificationRepository.markRead(user, idList);
+		} else if (request.get("upToId") instanceof Number upToId) {
+			updated = notificationRepository.markAllReadUpTo(user, upToId.longValue());
+		} else {
+			return ResponseEntity.badRequest().body(Map.of("error", "ids or upToId is required"));
+		}
+		return ResponseEntity.ok(Map.of("updated", updated));
+	}
+
 	@PostMapping("/markRead/{id}")
 	public ResponseEntity<?> markAsRead(@PathVariable Long id) {
 		Optional<Notificationdao> notification = notificationRepository.findById(id);
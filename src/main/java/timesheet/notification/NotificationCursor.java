@@ -0,0 +1,40 @@
+package timesheet.notification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position (timestamp, id) of the last notification on a page, passed
+ * to the client as an opaque URL-safe token.
+ */
+public record NotificationCursor(LocalDateTime timestamp, Long id) {
+
+	public static NotificationCursor after(Notificationdao notification) {
+		return new NotificationCursor(notification.getTimestamp(), notification.getId());
+	}
+
+	public String encode() {
+		String raw = timestamp + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns null for a missing token and throws IllegalArgumentException for a
+	 * malformed one.
+	 */
+	public static NotificationCursor decode(String token) {
+		if (token == null || token.isBlank())
+			return null;
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|");
+			if (parts.length != 2)
+				throw new IllegalArgumentException("Invalid cursor");
+			return new NotificationCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+}
@@ -1,11 +1,48 @@
 package timesheet.notification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notificationdao, Long> {
 	List<Notificationdao> findByUsernameAndReadedFalse(String username);
+
+	long countByUsernameAndReadedFalse(String username);
+
+	/** Newest unread first, strictly after the cursor; served by idx_notifications_unread. */
+	@Query("SELECT n FROM Notificationdao n WHERE n.username = :username AND n.readed = false "
+			+ "AND n.timestamp IS NOT NULL AND (:beforeTs IS NULL OR n.timestamp < :beforeTs "
+			+ "OR (n.timestamp = :beforeTs AND n.id < :beforeId)) ORDER BY n.timestamp DESC, n.id DESC")
+	List<Notificationdao> findUnreadPage(@Param("username") String username,
+			@Param("beforeTs") LocalDateTime beforeTs, @Param("beforeId") Long beforeId, Pageable pageable);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Notificationdao n SET n.readed = true WHERE n.username = :username AND n.readed = false "
+			+ "AND n.id IN :ids")
+	int markRead(@Param("username") String username, @Param("ids") Collection<Long> ids);
+
+	@Modifying
+	@Transactional
+	@Query("UPDATE Notificationdao n SET n.readed = true WHERE n.username = :username AND n.readed = false "
+			+ "AND n.id <= :upToId")
+	int markAllReadUpTo(@Param("username") String username, @Param("upToId") Long upToId);
+
+	@Modifying
+	@Transactional
+	@QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "notifications"))
+	@Query(value = "DELETE FROM notifications WHERE readed = true AND timestamp < :cutoff LIMIT :batch", nativeQuery = true)
+	int deleteReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batch") int batch);
 }
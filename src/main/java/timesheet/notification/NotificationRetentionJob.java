@@ -0,0 +1,39 @@
+package timesheet.notification;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Purges read notifications older than the retention window, a bounded batch
+ * per statement so the table is never locked for long. Unread rows are kept
+ * whatever their age.
+ */
+@Component
+public class NotificationRetentionJob {
+
+	private static final int BATCH = 1000;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Value("${notifications.retention-days:90}")
+	private int retentionDays;
+
+	@Scheduled(cron = "0 45 3 * * *")
+	public void purgeOldReadNotifications() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+		int total = 0;
+		int deleted;
+		do {
+			deleted = notificationRepository.deleteReadBefore(cutoff, BATCH);
+			total += deleted;
+		} while (deleted == BATCH);
+
+		if (total > 0)
+			System.out.println("🔔 Purged " + total + " read notifications older than " + retentionDays + " days");
+	}
+}
@@ -1,45 +1,263 @@
 package timesheet.notification;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Controller;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import timesheet.WorkerThreads;
+
+/**
+ * Buffers notifications instead of handling each one on the caller's thread.
+ * A scheduled flush drains the buffer, stores the whole batch with one JDBC
+ * batch, and hands the WebSocket pushes to a dedicated thread. A burst of
+ * admin notifications in one flush is pushed as a single digest message;
+ * every notification is still stored individually. Only a stored batch is
+ * pushed; a batch that fails to store goes back on the queue, flushing backs
+ * off, and a notification is dropped only after max-attempts failures.
+ * Stage latencies and counts are published as notifications.* meters.
+ */
 @Controller
 public class NotificationService {
 
+	private static final String ADMIN = "admin";
+
 	private final SimpMessagingTemplate messagingTemplate;
-	private final NotificationRepository notificationRepository;
+	private final NotificationBatchRepository notificationBatchRepository;
+	private final WorkerThreads workerThreads;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${notifications.queue-capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${notifications.batch-size:500}")
+	private int batchSize;
+
+	@Value("${notifications.admin-digest-threshold:3}")
+	private int adminDigestThreshold;
+
+	@Value("${notifications.max-attempts:5}")
+	private int maxAttempts;
+
+	@Value("${notifications.retry-backoff-ms:1000}")
+	private long retryBackoffMs;
+
+	private BlockingQueue<Pending> queue;
+	private ExecutorService pushExecutor;
+
+	private final Timer queueWait;
+	private final Timer persist;
+	private final Timer push;
+	private final Counter enqueued;
+	private final Counter inlineFallbacks;
+	private final Counter digests;
+	private final Counter persistFailures;
+	private final Counter retried;
+	private final Counter dropped;
+	private int consecutiveFailures;
+	private volatile long retryAtMillis;
 
 	@Autowired
-	public NotificationService(SimpMessagingTemplate messagingTemplate, NotificationRepository notificationRepository) {
+	public NotificationService(SimpMessagingTemplate messagingTemplate,
+			NotificationBatchRepository notificationBatchRepository, WorkerThreads workerThreads,
+			MeterRegistry meterRegistry) {
 		this.messagingTemplate = messagingTemplate;
-		this.notificationRepository = notificationRepository;
+		this.notificationBatchRepository = notificationBatchRepository;
+		this.workerThreads = workerThreads;
+		this.meterRegistry = meterRegistry;
+
+		queueWait = stage("notifications.queue.wait", "Time from enqueue until the notification is stored");
+		persist = stage("notifications.persist", "One batch insert");
+		push = stage("notifications.push", "WebSocket pushes for one stored batch");
+		enqueued = meterRegistry.counter("notifications.enqueued");
+		inlineFallbacks = meterRegistry.counter("notifications.inline.fallbacks");
+		digests = meterRegistry.counter("notifications.admin.digests");
+		persistFailures = meterRegistry.counter("notifications.persist.failures");
+		retried = meterRegistry.counter("notifications.retried");
+		dropped = meterRegistry.counter("notifications.dropped");
 	}
 
-	public void sendNotification(String username, String message) {
-		// ✅ Store in Database
-		Notificationdao notification = new Notificationdao();
-		notification.setUsername(username);
-		notification.setMessage(message);
-		notification.setReaded(false);
-		notification.setTimestamp(LocalDateTime.now());
-		notificationRepository.save(notification);
+	@PostConstruct
+	void start() {
+		queue = new LinkedBlockingQueue<>(queueCapacity);
+		Gauge.builder("notifications.queued", queue, BlockingQueue::size).register(meterRegistry);
+		pushExecutor = workerThreads.fixedPool("notification-push", 1);
+	}
 
-		messagingTemplate.convertAndSendToUser(username, "/topic/notifications", Map.of("message", message));
+	// Each failed attempt counts against max-attempts, so this ends even with the database down
+	@PreDestroy
+	void stop() throws InterruptedException {
+		while (!queue.isEmpty()) {
+			drain();
+		}
+		pushExecutor.shutdown();
+		pushExecutor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	public void sendNotification(String username, String message) {
+		enqueue(new Pending(username, message, false));
 	}
 
 	public void sendAdminNotification(String message) {
+		enqueue(new Pending(ADMIN, message, true));
+	}
+
+	@Scheduled(fixedDelayString = "${notifications.flush-ms:250}")
+	public void flush() {
+		if (System.currentTimeMillis() < retryAtMillis)
+			return; // backing off after a failed store
+		drain();
+	}
+
+	private void drain() {
+		List<Pending> batch = new ArrayList<>();
+		queue.drainTo(batch, batchSize);
+		if (batch.isEmpty())
+			return;
+		process(batch);
+	}
+
+	private void enqueue(Pending pending) {
+		enqueued.increment();
+		if (!queue.offer(pending)) {
+			// buffer full: do the work on the caller's thread rather than lose it; a failed store surfaces to the caller
+			inlineFallbacks.increment();
+			store(List.of(pending));
+			push(List.of(pending));
+		}
+	}
+
+	private void process(List<Pending> batch) {
+		try {
+			store(batch);
+		} catch (RuntimeException e) {
+			retryLater(batch, e);
+			return;
+		}
+		consecutiveFailures = 0;
+		push(batch);
+	}
+
+	// One transaction: either every row of the batch is stored or none is
+	private void store(List<Pending> batch) {
+		long storeStart = System.nanoTime();
+		List<Notificationdao> rows = new ArrayList<>(batch.size());
+		for (Pending pending : batch) {
+			rows.add(pending.toRow());
+		}
+		notificationBatchRepository.insertAll(rows);
+		for (Pending pending : batch) {
+			queueWait.record(storeStart - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+		}
+		persist.record(System.nanoTime() - storeStart, TimeUnit.NANOSECONDS);
+	}
+
+	private void retryLater(List<Pending> batch, RuntimeException e) {
+		persistFailures.increment();
+		consecutiveFailures++;
+		long backoff = Math.min(retryBackoffMs << Math.min(consecutiveFailures - 1, 5), 30_000);
+		retryAtMillis = System.currentTimeMillis() + backoff;
+
+		int requeued = 0;
+		for (Pending pending : batch) {
+			if (++pending.attempts < maxAttempts && queue.offer(pending))
+				requeued++;
+		}
+		retried.increment(requeued);
+		dropped.increment(batch.size() - requeued);
+		System.err.println("⚠️ Storing " + batch.size() + " notifications failed (" + e.getMessage() + "): re-queued "
+				+ requeued + ", dropped " + (batch.size() - requeued) + ", next flush in " + backoff + " ms");
+	}
+
+	private void push(List<Pending> stored) {
+		List<Pending> forUsers = new ArrayList<>();
+		List<String> forAdmin = new ArrayList<>();
+		for (Pending pending : stored) {
+			if (pending.admin)
+				forAdmin.add(pending.message);
+			else
+				forUsers.add(pending);
+		}
+
+		pushExecutor.execute(() -> {
+			long pushStart = System.nanoTime();
+			try {
+				for (Pending pending : forUsers) {
+					messagingTemplate.convertAndSend(userTopic(pending.username), Map.of("message", pending.message));
+				}
+				pushAdmin(forAdmin);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+			push.record(System.nanoTime() - pushStart, TimeUnit.NANOSECONDS);
+		});
+	}
+
+	private void pushAdmin(List<String> messages) {
+		if (messages.isEmpty())
+			return;
+		if (messages.size() < adminDigestThreshold) {
+			for (String message : messages) {
+				messagingTemplate.convertAndSend("/topic/adminNotifications", Map.of("message", message));
+			}
+			return;
+		}
+		digests.increment();
+		String digest = messages.size() + " new notifications: " + messages.get(0) + " (and "
+				+ (messages.size() - 1) + " more)";
+		messagingTemplate.convertAndSend("/topic/adminNotifications",
+				Map.of("message", digest, "count", messages.size(), "messages", messages));
+	}
+
+	/**
+	 * One user's notifications. Sessions carry no principal, so this is a plain
+	 * topic rather than a /user destination; the relay carries it between nodes.
+	 */
+	static String userTopic(String username) {
+		return "/topic/notifications." + username;
+	}
+
+	private Timer stage(String name, String description) {
+		return Timer.builder(name).description(description).publishPercentileHistogram().register(meterRegistry);
+	}
+
+	private static final class Pending {
+		private final String username;
+		private final String message;
+		private final boolean admin;
+		private final LocalDateTime timestamp = LocalDateTime.now();
+		private final long enqueuedAt = System.nanoTime();
+		private int attempts;
 
-		Notificationdao notification = new Notificationdao();
-		notification.setUsername("admin");
-		notification.setMessage(message);
-		notification.setReaded(false);
-		notification.setTimestamp(LocalDateTime.now());
-		notificationRepository.save(notification);
+		Pending(String username, String message, boolean admin) {
+			this.username = username;
+			this.message = message;
+			this.admin = admin;
+		}
 
-		messagingTemplate.convertAndSend("/topic/adminNotifications", Map.of("message", message));
+		Notificationdao toRow() {
+			Notificationdao notification = new Notificationdao();
+			notification.setUsername(username);
+			notification.setMessage(message);
+			notification.setReaded(false);
+			notification.setTimestamp(timestamp);
+			return notification;
+		}
 	}
 }
@@ -6,10 +6,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+		@Index(name = "idx_notifications_unread", columnList = "username, readed, timestamp"),
+		@Index(name = "idx_notifications_read_age", columnList = "readed, timestamp") })
 public class Notificationdao {
 
 	@Id
@@ -1,24 +1,132 @@
 package timesheet.notification;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+/**
+ * STOMP over SockJS at /ws. With websocket.broker=simple (the default) the
+ * broker lives in this JVM, which is all a single node or a test needs. With
+ * websocket.broker=relay every node relays /topic and /queue to an external
+ * STOMP broker (RabbitMQ, ActiveMQ), so a notification produced on one node
+ * reaches a user connected to another. Per-user notifications go to
+ * /topic/notifications.{username} for that reason: sessions have no
+ * principal, and /user destinations never leave the node.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+	@Value("${websocket.broker:simple}")
+	private String brokerMode;
+
+	@Value("${websocket.relay.host:localhost}")
+	private String relayHost;
+
+	@Value("${websocket.relay.port:61613}")
+	private int relayPort;
+
+	@Value("${websocket.relay.login:guest}")
+	private String relayLogin;
+
+	@Value("${websocket.relay.passcode:guest}")
+	private String relayPasscode;
+
+	@Value("${websocket.relay.virtual-host:}")
+	private String relayVirtualHost;
+
+	@Value("${websocket.heartbeat-ms:10000}")
+	private long heartbeatMs;
+
+	@Value("${websocket.inbound.core-threads:8}")
+	private int inboundCoreThreads;
+
+	@Value("${websocket.inbound.max-threads:32}")
+	private int inboundMaxThreads;
+
+	@Value("${websocket.outbound.core-threads:16}")
+	private int outboundCoreThreads;
+
+	@Value("${websocket.outbound.max-threads:64}")
+	private int outboundMaxThreads;
+
+	@Value("${websocket.channel.queue-capacity:10000}")
+	private int channelQueueCapacity;
+
+	@Value("${websocket.send-time-limit-ms:15000}")
+	private int sendTimeLimitMs;
+
+	@Value("${websocket.send-buffer-size-limit:524288}")
+	private int sendBufferSizeLimit;
+
+	private TaskScheduler messageBrokerTaskScheduler;
+
 	@Override
 	public void configureMessageBroker(MessageBrokerRegistry config) {
-		config.enableSimpleBroker("/topic", "/user");
+		if ("relay".equalsIgnoreCase(brokerMode)) {
+			var relay = config.enableStompBrokerRelay("/topic", "/queue")
+					.setRelayHost(relayHost)
+					.setRelayPort(relayPort)
+					.setClientLogin(relayLogin)
+					.setClientPasscode(relayPasscode)
+					.setSystemLogin(relayLogin)
+					.setSystemPasscode(relayPasscode)
+					.setSystemHeartbeatSendInterval(heartbeatMs)
+					.setSystemHeartbeatReceiveInterval(heartbeatMs);
+			if (!relayVirtualHost.isBlank())
+				relay.setVirtualHost(relayVirtualHost);
+		} else {
+			config.enableSimpleBroker("/topic")
+					.setHeartbeatValue(new long[] { heartbeatMs, heartbeatMs })
+					.setTaskScheduler(messageBrokerTaskScheduler);
+		}
 		config.setApplicationDestinationPrefixes("/app");
 		config.setUserDestinationPrefix("/user");
 	}
 
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
-		registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+		registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS()
+				.setHeartbeatTime(Math.max(heartbeatMs * 2, 25000))
+				.setDisconnectDelay(5000);
+	}
+
+	@Override
+	public void configureClientInboundChannel(ChannelRegistration registration) {
+		registration.taskExecutor()
+				.corePoolSize(inboundCoreThreads)
+				.maxPoolSize(inboundMaxThreads)
+				.queueCapacity(channelQueueCapacity);
+	}
+
+	@Override
+	public void configureClientOutboundChannel(ChannelRegistration registration) {
+		registration.taskExecutor()
+				.corePoolSize(outboundCoreThreads)
+				.maxPoolSize(outboundMaxThreads)
+				.queueCapacity(channelQueueCapacity);
+	}
+
+	// A slow client is cut off instead of holding an outbound thread indefinitely
+	@Override
+	public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+		registration.setSendTimeLimit(sendTimeLimitMs)
+				.setSendBufferSizeLimit(sendBufferSizeLimit)
+				.setMessageSizeLimit(64 * 1024);
+	}
+
+	// The framework's own broker scheduler; @Lazy breaks the cycle with this configurer
+	@Autowired
+	public void setMessageBrokerTaskScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler scheduler) {
+		this.messageBrokerTaskScheduler = scheduler;
 	}
 }
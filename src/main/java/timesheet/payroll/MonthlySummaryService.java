@@ -4,16 +4,17 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Collections;
-import java.util.Map;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
 import timesheet.admin.dao.Employeedao;
 import timesheet.admin.repo.EmployeeRepo;
+import timesheet.admin.service.WorkCalendar;
 import timesheet.employee.dao.SummaryEntry;
 import timesheet.employee.repo.SummaryRepository;
 import timesheet.payroll.dao.MonthlySummary;
@@ -31,6 +32,7 @@ public class MonthlySummaryService {
 	  @Autowired                       // NEW
 	    private EmployeeRepo employeeRepo;
 
+	   @Timed(value = "monthly.summary.generate", histogram = true)
 	   public ResponseEntity<String> generateMonthlySummary(String username, String month) {
 
 	        /* ── 0.  Look‑up employee & onboarding date ───────────────── */
@@ -93,19 +95,16 @@ public class MonthlySummaryService {
 	        }
 
 	        /* ── 3.  Aggregate numbers ────────────────────────────────── */
-	        Map<String,Object> data2 = s2.getSummaryData();  // always needed
-	        Map<String,Object> data1 = firstMonthSinglePeriod
-	                                   ? Collections.emptyMap()
-	                                   : s1.getSummaryData();
-
-	        double totalHours = getDouble(data1.get("totalHours"))
-	                          + getDouble(data2.get("totalHours"));
-	        double cl   = getDouble(data1.get("casualLeaveDays")) + getDouble(data2.get("casualLeaveDays"));
-	        double sl   = getDouble(data1.get("sickLeaveDays"))   + getDouble(data2.get("sickLeaveDays"));
-	        double pl   = getDouble(data1.get("paidLeaveDays"))   + getDouble(data2.get("paidLeaveDays"));
-	        double abs  = getDouble(data1.get("totalAbsences"))   + getDouble(data2.get("totalAbsences"));
-
-	        double totalWorkingDays = totalHours / 9.0;
+	        SummaryEntry first = firstMonthSinglePeriod ? null : s1;   // s2 always needed
+
+	        double totalHours = getDouble(first, SummaryEntry::getTotalHours)
+	                          + getDouble(s2, SummaryEntry::getTotalHours);
+	        double cl   = getDouble(first, SummaryEntry::getCasualLeaveDays) + getDouble(s2, SummaryEntry::getCasualLeaveDays);
+	        double sl   = getDouble(first, SummaryEntry::getSickLeaveDays)   + getDouble(s2, SummaryEntry::getSickLeaveDays);
+	        double pl   = getDouble(first, SummaryEntry::getPaidLeaveDays)   + getDouble(s2, SummaryEntry::getPaidLeaveDays);
+	        double abs  = getDouble(first, SummaryEntry::getTotalAbsences)   + getDouble(s2, SummaryEntry::getTotalAbsences);
+
+	        double totalWorkingDays = WorkCalendar.hoursToDays(totalHours);
 	        double lop              = calculateLOP(pl);   // TODO: real formula
 
 	        /* ── 4.  Upsert MonthlySummary ─────────────────────────────── */
@@ -117,7 +116,7 @@ public class MonthlySummaryService {
 	        summary.setMonth(month);
 	        summary.setCasualLeaveDays(cl);
 	        summary.setSickLeaveDays(sl);
-	        summary.setTotalAbsences(abs / 9);
+	        summary.setTotalAbsences(WorkCalendar.hoursToDays(abs));
 	        summary.setTotalLOPDays(lop);
 	        summary.setTotalWorkingDays(totalWorkingDays);
 
@@ -142,12 +141,11 @@ public class MonthlySummaryService {
 		return "16/" + mm + "/" + year + " - " + lastDay + "/" + mm + "/" + year;
 	}
 
-	private double getDouble(Object value) {
-		return value != null ? Double.parseDouble(value.toString()) : 0.0;
-	}
-
-	private double getDoubleOrZero(Object value) {
-		return value != null ? Double.parseDouble(value.toString()) : 0.0;
+	private double getDouble(SummaryEntry entry, Function<SummaryEntry, Double> column) {
+		if (entry == null)
+			return 0.0;
+		Double value = column.apply(entry);
+		return value != null ? value : 0.0;
 	}
 
 	private double calculateLOP(double pl) {
@@ -1,37 +1,31 @@
 package timesheet.payroll;
 
 import java.io.ByteArrayOutputStream;
-
 import java.io.IOException;
-import java.io.InputStream;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.io.OutputStream;
 import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.itextpdf.text.BaseColor;
-import com.itextpdf.text.Chunk;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
-import com.itextpdf.text.Element;
-import com.itextpdf.text.Font;
-import com.itextpdf.text.Image;
 import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.Phrase;
-import com.itextpdf.text.Rectangle;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 
 import timesheet.payroll.dao.ApprovedPayslip;
@@ -40,11 +34,21 @@ import timesheet.payroll.repo.ApprovedPayslipRepo;
 @RestController
 public class PaySlipGenerator {
 
+	// Payslips fetched per query while streaming a bulk export
+	private static final int BULK_PAGE_SIZE = 100;
+
 	@Autowired
 	private ApprovedPayslipRepo approvedPayslip;
 
+	@Autowired
+	private PayslipPdfRenderer payslipPdfRenderer;
+
+	@Autowired
+	private PayslipPdfCache payslipPdfCache;
+
 	@GetMapping("/PayslipDownload")
-	public ResponseEntity<byte[]> downloadPayslip(@RequestParam String username, @RequestParam String month)
+	public ResponseEntity<byte[]> downloadPayslip(@RequestParam String username, @RequestParam String month,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
 			throws IOException, DocumentException {
 
 		username = username.trim();
@@ -55,214 +59,113 @@ public class PaySlipGenerator {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
 		}
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		Document document = new Document();
-		PdfWriter.getInstance(document, baos);
-		document.open();
-
-		// Fonts
-		Font titleFont = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
-		Font labelFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
-		Font normalFont = new Font(Font.FontFamily.HELVETICA, 12);
-		Font smallFont = new Font(Font.FontFamily.HELVETICA, 10);
-
-		// Logo (if needed)
-		try {
-			ClassPathResource imageResource = new ClassPathResource("static/img/");
-			InputStream logoStream = imageResource.getInputStream();
-			byte[] logoBytes = logoStream.readAllBytes();
-			Image logo = Image.getInstance(logoBytes);
-			logo.scaleToFit(100, 50);
-			logo.setAlignment(Element.ALIGN_LEFT);
-			document.add(logo);
-		} catch (Exception e) {
-			e.printStackTrace();
+		// Approved payslips do not change, so the browser only has to revalidate
+		String etag = payslipPdfCache.etag(approvedPaysliprepo);
+		if (etag.equals(ifNoneMatch)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+					.cacheControl(CacheControl.noCache().cachePrivate()).build();
 		}
 
-		YearMonth ym = YearMonth.parse(approvedPaysliprepo.getMonth(), DateTimeFormatter.ofPattern("yyyy-MM"));
-		String formattedMonth = ym.format(DateTimeFormatter.ofPattern("yyyy - MMMM", Locale.ENGLISH)).toUpperCase();
-
-		Paragraph monthPara = new Paragraph("Payslip For " + formattedMonth, titleFont);
-		monthPara.setAlignment(Element.ALIGN_CENTER);
-		document.add(monthPara);
-		document.add(Chunk.NEWLINE);
-
-		// Employee Info
-		PdfPTable empTable = new PdfPTable(2);
-		empTable.setWidthPercentage(100);
-		empTable.setSpacingBefore(10f);
-		empTable.setSpacingAfter(10f);
-
-		empTable.addCell(createLabelCell("Name", labelFont));
-		empTable.addCell(createValueCell(approvedPaysliprepo.getUsername(), normalFont));
-
-		empTable.addCell(createLabelCell("Designation", labelFont));
-		empTable.addCell(createValueCell(approvedPaysliprepo.getDesignation(), normalFont));
-
-		empTable.addCell(createLabelCell("Bank", labelFont));
-		empTable.addCell(createValueCell(approvedPaysliprepo.getBankName(), normalFont));
-
-		empTable.addCell(createLabelCell("A/c No.", labelFont));
-		empTable.addCell(createValueCell(approvedPaysliprepo.getAccountNumber(), normalFont));
-
-		empTable.addCell(createLabelCell("DOJ", labelFont));
-		empTable.addCell(createValueCell(formatDate(approvedPaysliprepo.getOnboardDate()), normalFont));
-
-		empTable.addCell(createLabelCell("STD Days", labelFont));
-		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getStdWorkDays()), normalFont));
-
-		empTable.addCell(createLabelCell("Worked Days", labelFont));
-		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getTotalWorkingDays()), normalFont));
-
-		empTable.addCell(createLabelCell("Paid Leaves", labelFont));
-		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getTotalLeaves().intValue()), normalFont));
-
-		empTable.addCell(createLabelCell("Loss of Pay", labelFont));
-		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getLop().intValue()), normalFont));
-
-		empTable.addCell(createLabelCell("Location", labelFont));
-		empTable.addCell(createValueCell(approvedPaysliprepo.getLocation(), normalFont));
-
-		document.add(empTable);
-
-		// --- Salary Split Table with Styled Layout ---
-		PdfPTable salaryTable = new PdfPTable(4);
-		salaryTable.setWidthPercentage(100);
-		salaryTable.setWidths(new float[] { 3f, 2f, 3f, 2f });
-		salaryTable.setSpacingBefore(10f);
-		salaryTable.setSpacingAfter(10f);
-
-		// Header Row
-		salaryTable.addCell(createHeaderCell("Earnings", labelFont));
-		salaryTable.addCell(createHeaderCell("Amount in ₹", labelFont));
-		salaryTable.addCell(createHeaderCell("Deductions", labelFont));
-		salaryTable.addCell(createHeaderCell("Amount in ₹", labelFont));
-
-		// Earnings and Deductions Row
-		salaryTable.addCell(createCell("Basic Salary", normalFont, Element.ALIGN_LEFT));
-		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getBasicSalary()), normalFont,
-				Element.ALIGN_RIGHT));
-		salaryTable.addCell(createCell("Deduction", normalFont, Element.ALIGN_LEFT));
-		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getDeductions()), normalFont,
-				Element.ALIGN_RIGHT));
-
-		// Gross Earnings & Deductions Row
-		salaryTable.addCell(createCell("Gross Earnings", labelFont, Element.ALIGN_LEFT));
-		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getBasicSalary()), labelFont,
-				Element.ALIGN_RIGHT));
-		salaryTable.addCell(createCell("Gross Deductions", labelFont, Element.ALIGN_LEFT));
-		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getDeductions()), labelFont,
-				Element.ALIGN_RIGHT));
-
-		// Net Pay row (boxed row)
-		PdfPCell netPayLabel = new PdfPCell(new Phrase("NET PAY", labelFont));
-		netPayLabel.setColspan(3);
-		netPayLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
-		netPayLabel.setPadding(8);
-		netPayLabel.setBorderWidth(1);
-		salaryTable.addCell(netPayLabel);
-
-		PdfPCell netPayValue = new PdfPCell(
-				new Phrase(String.format("%,.2f", approvedPaysliprepo.getNetPay()), labelFont));
-		netPayValue.setHorizontalAlignment(Element.ALIGN_RIGHT);
-		netPayValue.setPadding(8);
-		netPayValue.setBorderWidth(1);
-		salaryTable.addCell(netPayValue);
-
-		document.add(salaryTable);
-
-		document.add(Chunk.NEWLINE);
-
-		// Footer
-		String approvedAtFormatted = formatDateTime(approvedPaysliprepo.getApprovedAt());
-		String salaryProcessedFormatted = formatDateTime(approvedPaysliprepo.getSalaryProcessAt());
-
-		Paragraph footer = new Paragraph(
-				"Payslip Approved at: " + approvedAtFormatted + " | Salary processed at: " + salaryProcessedFormatted,
-				smallFont);
-		footer.setAlignment(Element.ALIGN_CENTER);
-		document.add(footer);
-
-		document.add(Chunk.NEWLINE);
-
-		Paragraph note = new Paragraph(
-				"** This is a computer generated payslip and does not require signature and stamp.**", smallFont);
-		note.setAlignment(Element.ALIGN_CENTER);
-		document.add(note);
-
-		document.close();
+		byte[] pdfBytes = payslipPdfCache.get(approvedPaysliprepo);
+		if (pdfBytes == null) {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			payslipPdfRenderer.render(approvedPaysliprepo, baos);
+			pdfBytes = baos.toByteArray();
+			payslipPdfCache.put(approvedPaysliprepo, pdfBytes);
+		}
 
-		byte[] pdfBytes = baos.toByteArray();
 		HttpHeaders headers = new HttpHeaders();
 		headers.setContentType(MediaType.APPLICATION_PDF);
 		headers.setContentDispositionFormData("attachment", "Payslip-" + username + "-" + month + ".pdf");
+		headers.setETag(etag);
+		headers.setCacheControl(CacheControl.noCache().cachePrivate());
 
 		return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
 	}
 
-	// --- Helper Methods ---
+	/**
+	 * Every approved payslip of a month, streamed straight to the response as a
+	 * ZIP of individual PDFs (format=zip, the default) or as one merged PDF
+	 * (format=pdf). Payslips are read a page at a time and rendered one by one,
+	 * so memory stays flat however many employees there are.
+	 */
+	@GetMapping("/PayslipDownload/bulk")
+	public ResponseEntity<StreamingResponseBody> downloadMonthPayslips(@RequestParam String month,
+			@RequestParam(defaultValue = "zip") String format) {
+
+		String trimmedMonth = month.trim();
+		try {
+			YearMonth.parse(trimmedMonth);
+		} catch (DateTimeParseException e) {
+			return ResponseEntity.badRequest().build();
+		}
 
-	private PdfPCell createLabelCell(String text, Font font) {
-		PdfPCell cell = new PdfPCell(new Phrase(text, font));
-		cell.setBorder(Rectangle.NO_BORDER);
-		cell.setPadding(5);
-		return cell;
-	}
+		boolean merged = "pdf".equalsIgnoreCase(format);
+		if (!merged && !"zip".equalsIgnoreCase(format)) {
+			return ResponseEntity.badRequest().build();
+		}
 
-	private PdfPCell createValueCell(String text, Font font) {
-		PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
-		cell.setBorder(Rectangle.NO_BORDER);
-		cell.setPadding(5);
-		return cell;
-	}
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(merged ? MediaType.APPLICATION_PDF : MediaType.parseMediaType("application/zip"));
+		headers.setContentDisposition(ContentDisposition.attachment()
+				.filename("Payslips-" + trimmedMonth + (merged ? ".pdf" : ".zip")).build());
 
-	private PdfPCell createHeaderCell(String text, Font font) {
-		PdfPCell cell = new PdfPCell(new Phrase(text, font));
-		cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-		cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
-		cell.setPadding(5);
-		return cell;
+		StreamingResponseBody body = merged ? out -> writeMerged(trimmedMonth, out) : out -> writeZip(trimmedMonth, out);
+		return new ResponseEntity<>(body, headers, HttpStatus.OK);
 	}
 
-	private PdfPCell createCell(String text, Font font, int alignment) {
-		PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
-		cell.setHorizontalAlignment(alignment);
-		cell.setPadding(5);
-		return cell;
+	private void writeZip(String month, OutputStream out) throws IOException {
+		try (ZipOutputStream zip = new ZipOutputStream(out)) {
+			long lastId = 0;
+			List<ApprovedPayslip> page;
+			while (!(page = nextPage(month, lastId)).isEmpty()) {
+				for (ApprovedPayslip payslip : page) {
+					zip.putNextEntry(new ZipEntry("Payslip-" + payslip.getUsername().trim() + "-" + month + ".pdf"));
+					try {
+						payslipPdfRenderer.render(payslip, zip);
+					} catch (DocumentException e) {
+						throw new IOException("Could not render payslip for " + payslip.getUsername(), e);
+					}
+					zip.closeEntry();
+				}
+				lastId = page.get(page.size() - 1).getId();
+			}
+		}
 	}
 
-	private String formatDate(String rawDate) {
+	private void writeMerged(String month, OutputStream out) throws IOException {
+		Document document = new Document();
 		try {
-			if (rawDate == null || rawDate.trim().equals("-"))
-				return "-";
-
-			DateTimeFormatter inputFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-			LocalDate date = LocalDate.parse(rawDate, inputFormat);
-
-			DateTimeFormatter outputFormat = DateTimeFormatter.ofPattern("dd-MMM-yyyy", Locale.ENGLISH);
-			return date.format(outputFormat);
-		} catch (Exception e) {
-			return rawDate; // fallback
+			PdfWriter writer = PdfWriter.getInstance(document, out);
+			writer.setCloseStream(false);
+			document.open();
+
+			boolean first = true;
+			long lastId = 0;
+			List<ApprovedPayslip> page;
+			while (!(page = nextPage(month, lastId)).isEmpty()) {
+				for (ApprovedPayslip payslip : page) {
+					if (!first)
+						document.newPage(); // earlier pages are flushed to the response here
+					payslipPdfRenderer.addPayslip(document, payslip);
+					first = false;
+				}
+				lastId = page.get(page.size() - 1).getId();
+			}
+
+			if (first) {
+				document.add(new Paragraph("No approved payslips for " + month));
+			}
+		} catch (DocumentException e) {
+			throw new IOException("Could not render payslips for " + month, e);
+		} finally {
+			if (document.isOpen())
+				document.close();
 		}
 	}
 
-	private String formatDateTime(String rawDateTime) {
-		try {
-			if (rawDateTime == null || rawDateTime.trim().equals("-"))
-				return "-";
-
-			// Replace the colon after the date part only if present
-			rawDateTime = rawDateTime.replaceFirst("(\\d{4}-\\d{2}-\\d{2}):", "$1");
-
-			DateTimeFormatter inputFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-			LocalDateTime dateTime = LocalDateTime.parse(rawDateTime.trim(), inputFormat);
-
-			DateTimeFormatter outputFormat = DateTimeFormatter.ofPattern("dd-MMM-yyyy - hh:mm a", Locale.ENGLISH);
-			return dateTime.format(outputFormat);
-		} catch (Exception e) {
-			e.printStackTrace(); // optional for debugging
-			return rawDateTime; // fallback
-		}
+	private List<ApprovedPayslip> nextPage(String month, long afterId) {
+		return approvedPayslip.findByMonthAndIdGreaterThanOrderByIdAsc(month, afterId, PageRequest.of(0, BULK_PAGE_SIZE));
 	}
 
 }
@@ -0,0 +1,76 @@
+package timesheet.payroll;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import timesheet.admin.service.WorkCalendar;
+import timesheet.payroll.dao.AddSalary;
+import timesheet.payroll.dao.MonthlySummary;
+
+/**
+ * Payslip arithmetic shared by the single-employee preview (/payslip/details)
+ * and the month-level payroll run. Everything here works on rows the caller has
+ * already loaded, so a run can preload once and compute for many employees.
+ */
+@Component
+public class PayrollCalculator {
+
+	private static final DateTimeFormatter EFFECTIVE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	public record PayslipFigures(double stddays, double totalworked, double totalleaves, double lop,
+			double basicSalary, double deduction, double netPay) {
+	}
+
+	/** The latest salary row whose effectiveFrom is on or before the payslip month. */
+	public Optional<AddSalary> salaryFor(List<AddSalary> salaryRows, YearMonth yearMonth) {
+		AddSalary latest = null;
+		LocalDate latestDate = null;
+		for (AddSalary row : salaryRows) {
+			LocalDate effective;
+			try {
+				effective = LocalDate.parse(row.getEffectiveFrom(), EFFECTIVE_FMT);
+			} catch (Exception e) {
+				continue;
+			}
+			if (YearMonth.from(effective).isAfter(yearMonth))
+				continue;
+			if (latestDate == null || effective.isAfter(latestDate)) {
+				latest = row;
+				latestDate = effective;
+			}
+		}
+		return Optional.ofNullable(latest);
+	}
+
+	public PayslipFigures calculate(MonthlySummary summary, YearMonth yearMonth, LocalDate doj,
+			WorkCalendar.Table calendar, AddSalary salaryRow) {
+
+		LocalDate monthEnd = yearMonth.atEndOfMonth();
+		boolean isOnboardMonth = YearMonth.from(doj).equals(yearMonth);
+
+		/* Sundays and holidays (skip pre‑DOJ if onboarding) */
+		LocalDate countFrom = isOnboardMonth ? doj : yearMonth.atDay(1);
+		int totalSundays = calendar.sundays(countFrom, monthEnd);
+		int totalHolidays = calendar.holidays(countFrom, monthEnd);
+
+		double stddays = summary.getTotalWorkingDays() + totalSundays + totalHolidays;
+		double totalworked = (summary.getTotalWorkingDays() - summary.getTotalAbsences()) + totalSundays
+				+ totalHolidays;
+		double lopDays = summary.getTotalLOPDays() != null ? summary.getTotalLOPDays() : 0.0;
+
+		double basicSalary = Double.parseDouble(salaryRow.getMonthsalary());
+		double perCalDay = basicSalary / yearMonth.lengthOfMonth(); // true daily rate
+
+		double grossPay = perCalDay * stddays; // pay only for presence
+		double deductions = perCalDay * lopDays; // keep old LOP rule
+		double netPay = grossPay - deductions;
+
+		return new PayslipFigures(stddays, totalworked, summary.getTotalAbsences(), lopDays, basicSalary, deductions,
+				netPay);
+	}
+}
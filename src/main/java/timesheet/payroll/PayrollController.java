@@ -1,7 +1,6 @@
 package timesheet.payroll;
 
 import java.io.IOException;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -9,7 +8,6 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,14 +29,15 @@ import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.mail.MessagingException;
 import timesheet.admin.dao.Employeedao;
-import timesheet.admin.dao.Holidays;
 import timesheet.admin.repo.EmployeeRepo;
-import timesheet.admin.repo.HolidayRepo;
+import timesheet.admin.service.WorkCalendar;
 import timesheet.emails.EmailServiceController;
+import timesheet.payroll.PayrollCalculator.PayslipFigures;
 import timesheet.payroll.dao.AddSalary;
 import timesheet.payroll.dao.ApprovedPayslip;
 import timesheet.payroll.dao.Bankdetails;
 import timesheet.payroll.dao.MonthlySummary;
+import timesheet.payroll.dao.PayrollRun;
 import timesheet.payroll.repo.AddSalaryRepo;
 import timesheet.payroll.repo.ApprovedPayslipRepo;
 import timesheet.payroll.repo.BankDetailsRepo;
@@ -64,11 +63,20 @@ public class PayrollController {
 	private ApprovedPayslipRepo approvedPayslip;
 
 	@Autowired
-	private HolidayRepo holidayrepo;
+	private WorkCalendar workCalendar;
 
 	@Autowired
 	private EmailServiceController emailService;
 
+	@Autowired
+	private PayrollCalculator payrollCalculator;
+
+	@Autowired
+	private PayrollRunService payrollRunService;
+
+	@Autowired
+	private PayslipPdfCache payslipPdfCache;
+
 	@GetMapping("/EmployePayslip/{month}")
 	public ResponseEntity<List<Map<String, String>>> getUsersForMonth(@PathVariable String month) {
 
@@ -110,10 +118,6 @@ public class PayrollController {
 	        return ResponseEntity.badRequest()
 	                             .body(Map.of("error", "Invalid month format. Expected yyyy‑MM"));
 	    }
-	    int targetYear  = yearMonth.getYear();
-	    int targetMonth = yearMonth.getMonthValue();
-	    LocalDate monthStart = yearMonth.atDay(1);
-	    LocalDate monthEnd   = yearMonth.atEndOfMonth();
 
 	    /* ── 2. Employee & DOJ ───────────────────────────────────── */
 	    Employeedao employee = EmpRepo.findByeName(username);
@@ -128,30 +132,8 @@ public class PayrollController {
 	        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 	                             .body(Map.of("error", "Invalid onboard date format"));
 	    }
-	    boolean isOnboardMonth = doj.getYear() == targetYear &&
-	                             doj.getMonthValue() == targetMonth;
-
-	    /* ── 3. Sundays (skip pre‑DOJ if onboarding) ─────────────── */
-	    int totalSundays = 0;
-	    for (LocalDate d = monthStart; !d.isAfter(monthEnd); d = d.plusDays(1)) {
-	        if (d.getDayOfWeek() == DayOfWeek.SUNDAY &&
-	           (!isOnboardMonth || !d.isBefore(doj)))
-	            totalSundays++;
-	    }
-
-	    /* ── 4. Holidays (skip pre‑DOJ if onboarding) ────────────── */
-	    DateTimeFormatter df = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-	    int totalHolidays = 0;
-	    for (Holidays h : holidayrepo.findByyear(targetYear)) {
-	        try {
-	            LocalDate hDate = LocalDate.parse(h.getDate(), df);
-	            if (hDate.getMonthValue() == targetMonth &&
-	               (!isOnboardMonth || !hDate.isBefore(doj)))
-	                totalHolidays++;
-	        } catch (DateTimeParseException ignored) {}
-	    }
 
-	    /* ── 5. Monthly summary row ─────────────────────────────── */
+	    /* ── 3. Monthly summary row ─────────────────────────────── */
 	    Optional<MonthlySummary> opt =
 	            monthlySummaryRepository.findByUsernameAndMonth(username, month);
 	    if (opt.isEmpty())
@@ -159,71 +141,24 @@ public class PayrollController {
 	                             .body(Map.of("error", "Summary not found"));
 	    MonthlySummary summary = opt.get();
 
-	    /* ── 6. Std / worked / leave figures (same as old) ───────── */
-	    double    stddays      = summary.getTotalWorkingDays() + totalSundays + totalHolidays;
-	    double    totalworked  = (summary.getTotalWorkingDays() - summary.getTotalAbsences())
-	                          + totalSundays + totalHolidays;
-	    double lopDays      = summary.getTotalLOPDays() != null ? summary.getTotalLOPDays() : 0.0;
-
-	    /* ── 7. Pick the salary row valid for this month ─────────── */
-	    DateTimeFormatter effFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-	    Optional<AddSalary> salOpt = addSalaryrepo.findByEmployeename(username)
-	        .stream()
-	        .filter(s -> {
-	            try { return !YearMonth.from(LocalDate.parse(s.getEffectiveFrom(), effFmt))
-	                                   .isAfter(yearMonth);
-	            } catch (Exception e) { return false; }
-	        })
-	        .max((a, b) -> {                     // latest ≤ payslip month
-	            try {
-	                return LocalDate.parse(a.getEffectiveFrom(), effFmt)
-	                        .compareTo(LocalDate.parse(b.getEffectiveFrom(), effFmt));
-	            } catch (Exception e) { return 0; }
-	        });
-
+	    /* ── 4. Pick the salary row valid for this month ─────────── */
+	    Optional<AddSalary> salOpt = payrollCalculator.salaryFor(addSalaryrepo.findByEmployeename(username), yearMonth);
 	    if (salOpt.isEmpty())
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND)
 	                             .body(Map.of("error", "No valid salary for selected month"));
-	    AddSalary salaryRow = salOpt.get();
-	    double basicSalary  = Double.parseDouble(salaryRow.getMonthsalary());
-
-	    /* ── 8. Prorated salary (handle onboarding month) ─────────────── */
-	    int daysInMonth = yearMonth.lengthOfMonth();          // 30, 31, 28 …
-	    double perCalDay = basicSalary / daysInMonth;         // true daily rate
 
-	    LocalDate effDate = LocalDate.parse(salaryRow.getEffectiveFrom(), effFmt);
+	    /* ── 5. Sundays, holidays, std / worked days and pay ─────── */
+	    PayslipFigures figures = payrollCalculator.calculate(summary, yearMonth, doj,
+	            workCalendar.current(), salOpt.get());
 
-	    /* Payroll actually starts on the later of DoJ or effectiveFrom */
-	    LocalDate payrollStart = doj.isAfter(effDate) ? doj : effDate;
-
-	    /* Is this the month when payrollStart sits? */
-	    boolean prorateNeeded =
-	            payrollStart.getYear()  == targetYear &&
-	            payrollStart.getMonthValue() == targetMonth;
-
-	    /* Days that person is on the rolls in this month            */
-	    /* (+1 because we want both start & end dates inclusive)      */
-	    long onRollCalDays = prorateNeeded
-	            ? ChronoUnit.DAYS.between(payrollStart, monthEnd.plusDays(1))
-	            : daysInMonth;
-
-	    /* totalworked already excludes LOP & unpaid absences,        */
-	    /* so we treat it as “paid attendance days”.                  */
-	    double payableDays = stddays;
-
-	    double grossPay   = perCalDay * payableDays;          // pay only for presence
-	    double deductions = perCalDay * lopDays;              // keep old LOP rule
-	    double netPay     = grossPay - deductions;
-
-
-	    /* ── 9. Build response (field names identical) ───────────── */
-	    result.put("stddays",      stddays);
-	    result.put("totalworked",  totalworked);
-	    result.put("totalleaves",  summary.getTotalAbsences());
-	    result.put("lop",          lopDays);
-	    result.put("basicSalary",  basicSalary);
-	    result.put("deduction",    deductions);
-	    result.put("netPay",       netPay);
+	    /* ── 6. Build response (field names identical) ───────────── */
+	    result.put("stddays",      figures.stddays());
+	    result.put("totalworked",  figures.totalworked());
+	    result.put("totalleaves",  figures.totalleaves());
+	    result.put("lop",          figures.lop());
+	    result.put("basicSalary",  figures.basicSalary());
+	    result.put("deduction",    figures.deduction());
+	    result.put("netPay",       figures.netPay());
 
 	    result.put("name",         employee.geteName());
 	    result.put("onboardDate",  employee.getOnboard());
@@ -259,6 +194,7 @@ public class PayrollController {
 		System.out.println(formattedDateTime);
 
 		approvedPayslip.save(payslipData);
+		payslipPdfCache.invalidate(username, payslipData.getMonth());
 
 		Optional<MonthlySummary> summaryOpt = monthlySummaryRepository.findByUsernameAndMonth(username,
 				payslipData.getMonth());
@@ -282,6 +218,26 @@ public class PayrollController {
 		return ResponseEntity.ok(Map.of("message", "Payslip approved and saved successfully"));
 	}
 
+	@PostMapping("/run")
+	public ResponseEntity<?> startPayrollRun(@RequestParam String month) {
+		try {
+			PayrollRun run = payrollRunService.startRun(month);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(run.toMap());
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+		}
+	}
+
+	@GetMapping("/run/{runId}")
+	public ResponseEntity<?> getPayrollRun(@PathVariable String runId) {
+		Optional<PayrollRun> run = payrollRunService.getRun(runId);
+		if (run.isEmpty())
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Payroll run not found"));
+		return ResponseEntity.ok(run.get().toMap());
+	}
+
 	@GetMapping("/getPayslipdata")
 	public ResponseEntity<List<ApprovedPayslip>> getExpense() {
 		List<ApprovedPayslip> Payslip = approvedPayslip.findAll();
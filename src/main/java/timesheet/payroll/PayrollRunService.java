@@ -0,0 +1,307 @@
+package timesheet.payroll;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import timesheet.WorkerThreads;
+import timesheet.admin.dao.Employeedao;
+import timesheet.admin.repo.EmployeeRepo;
+import timesheet.admin.service.WorkCalendar;
+import timesheet.emails.EmailServiceController;
+import timesheet.payroll.PayrollCalculator.PayslipFigures;
+import timesheet.payroll.dao.AddSalary;
+import timesheet.payroll.dao.ApprovedPayslip;
+import timesheet.payroll.dao.Bankdetails;
+import timesheet.payroll.dao.MonthlySummary;
+import timesheet.payroll.dao.PayrollRun;
+import timesheet.payroll.repo.AddSalaryRepo;
+import timesheet.payroll.repo.ApprovedPayslipBatchRepository;
+import timesheet.payroll.repo.BankDetailsRepo;
+import timesheet.payroll.repo.MonthlySummaryRepository;
+
+/**
+ * Month-level payroll run. Every lookup the per-employee flow repeats
+ * (holidays, salary rows, bank details, employees) is loaded once, employees
+ * are computed in parallel chunks, and each chunk's payslips are written with
+ * one JDBC batch and one summary update in its own transaction. A failing
+ * employee is recorded on the run and does not stop the others.
+ */
+@Service
+public class PayrollRunService {
+
+	private static final int CHUNK_SIZE = 100;
+	private static final int MAX_KEPT_RUNS = 20;
+
+	@Autowired
+	private MonthlySummaryRepository monthlySummaryRepository;
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private AddSalaryRepo addSalaryRepo;
+
+	@Autowired
+	private BankDetailsRepo bankDetailsRepo;
+
+	@Autowired
+	private WorkCalendar workCalendar;
+
+	@Autowired
+	private ApprovedPayslipBatchRepository approvedPayslipBatchRepository;
+
+	@Autowired
+	private PayrollCalculator payrollCalculator;
+
+	@Autowired
+	private EmailServiceController emailService;
+
+	@Autowired
+	private PayslipPdfCache payslipPdfCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${payroll.run.threads:4}")
+	private int threads;
+
+	@Autowired
+	private WorkerThreads workerThreads;
+
+	private ExecutorService coordinator;
+	private ExecutorService workers;
+
+	private final Map<String, PayrollRun> runs = Collections.synchronizedMap(new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, PayrollRun> eldest) {
+			return size() > MAX_KEPT_RUNS && !PayrollRun.RUNNING.equals(eldest.getValue().getState());
+		}
+	});
+
+	@PostConstruct
+	void start() {
+		coordinator = workerThreads.fixedPool("payroll-run", 1);
+		workers = workerThreads.fixedPool("payroll-worker", threads);
+	}
+
+	@PreDestroy
+	void stop() {
+		coordinator.shutdown();
+		workers.shutdown();
+	}
+
+	/**
+	 * Starts a run for the month (yyyy-MM) and returns immediately. Throws
+	 * IllegalArgumentException for a bad month and IllegalStateException if a run
+	 * for that month is already in progress.
+	 */
+	public PayrollRun startRun(String month) {
+		YearMonth yearMonth;
+		try {
+			yearMonth = YearMonth.parse(month);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid month format. Expected yyyy-MM");
+		}
+
+		PayrollRun run;
+		synchronized (runs) {
+			for (PayrollRun existing : runs.values()) {
+				if (existing.getMonth().equals(month) && PayrollRun.RUNNING.equals(existing.getState()))
+					throw new IllegalStateException("A payroll run for " + month + " is already in progress");
+			}
+			run = new PayrollRun(UUID.randomUUID().toString(), month);
+			runs.put(run.getRunId(), run);
+		}
+
+		coordinator.submit(() -> execute(run, yearMonth));
+		return run;
+	}
+
+	public Optional<PayrollRun> getRun(String runId) {
+		return Optional.ofNullable(runs.get(runId));
+	}
+
+	private void execute(PayrollRun run, YearMonth yearMonth) {
+		String month = run.getMonth();
+		try {
+			/* ── 1. Employees still waiting for a payslip (one row per user) ── */
+			Map<String, MonthlySummary> summaries = new LinkedHashMap<>();
+			for (MonthlySummary summary : monthlySummaryRepository.findByMonthAndIsPayslipGeneratedFalse(month)) {
+				summaries.putIfAbsent(summary.getUsername(), summary);
+			}
+			run.setTotal(summaries.size());
+			if (summaries.isEmpty()) {
+				run.finish(PayrollRun.COMPLETED);
+				return;
+			}
+
+			/* ── 2. Preload every lookup once ──────────────────────────── */
+			Map<String, Employeedao> employees = new HashMap<>();
+			for (Employeedao emp : employeeRepo.findByeNameIn(summaries.keySet())) {
+				employees.put(emp.geteName(), emp);
+			}
+
+			Map<String, List<AddSalary>> salaries = new HashMap<>();
+			for (AddSalary row : addSalaryRepo.findByEmployeenameIn(summaries.keySet())) {
+				salaries.computeIfAbsent(row.getEmployeename(), k -> new ArrayList<>()).add(row);
+			}
+
+			List<String> lowerNames = summaries.keySet().stream().map(name -> name.trim().toLowerCase()).toList();
+			Map<String, Bankdetails> banks = new HashMap<>();
+			for (Bankdetails bank : bankDetailsRepo.findByLowerEmployeenameIn(lowerNames)) {
+				banks.put(bank.getEmployeename().trim().toLowerCase(), bank); // ordered by id, latest wins
+			}
+
+			WorkCalendar.Table calendar = workCalendar.current();
+
+			/* ── 3. Compute and write chunks in parallel ───────────────── */
+			List<MonthlySummary> pending = new ArrayList<>(summaries.values());
+			List<CompletableFuture<Void>> chunks = new ArrayList<>();
+			for (int i = 0; i < pending.size(); i += CHUNK_SIZE) {
+				List<MonthlySummary> chunk = pending.subList(i, Math.min(i + CHUNK_SIZE, pending.size()));
+				chunks.add(CompletableFuture.runAsync(
+						() -> processChunk(run, yearMonth, chunk, employees, salaries, banks, calendar), workers));
+			}
+			CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+
+			run.finish(PayrollRun.COMPLETED);
+			System.out.println("💰 Payroll run " + run.getRunId() + " for " + month + " finished: " + run.toMap());
+		} catch (Exception e) {
+			e.printStackTrace();
+			run.finish(PayrollRun.FAILED);
+		}
+	}
+
+	private void processChunk(PayrollRun run, YearMonth yearMonth, List<MonthlySummary> chunk,
+			Map<String, Employeedao> employees, Map<String, List<AddSalary>> salaries, Map<String, Bankdetails> banks,
+			WorkCalendar.Table calendar) {
+
+		String processedAt = ZonedDateTime.now(ZoneId.of("Asia/Kolkata"))
+				.format(DateTimeFormatter.ofPattern("yyyy-MM-dd: HH:mm"));
+
+		List<ApprovedPayslip> payslips = new ArrayList<>();
+		List<Employeedao> recipients = new ArrayList<>();
+
+		for (MonthlySummary summary : chunk) {
+			String username = summary.getUsername();
+			try {
+				Employeedao employee = employees.get(username);
+				if (employee == null) {
+					run.fail(username, "Employee details not found");
+					continue;
+				}
+
+				LocalDate doj;
+				try {
+					doj = LocalDate.parse(employee.getOnboard());
+				} catch (DateTimeParseException | NullPointerException e) {
+					run.fail(username, "Invalid onboard date format");
+					continue;
+				}
+
+				Optional<AddSalary> salary = payrollCalculator
+						.salaryFor(salaries.getOrDefault(username, List.of()), yearMonth);
+				if (salary.isEmpty()) {
+					run.fail(username, "No valid salary for selected month");
+					continue;
+				}
+
+				Bankdetails bank = banks.get(username.trim().toLowerCase());
+				if (bank == null) {
+					run.fail(username, "Bank details not found for employee: " + username);
+					continue;
+				}
+
+				PayslipFigures figures = payrollCalculator.calculate(summary, yearMonth, doj, calendar,
+						salary.get());
+				payslips.add(toPayslip(username, employee, bank, figures, processedAt, yearMonth.toString()));
+				recipients.add(employee);
+			} catch (Exception e) {
+				run.fail(username, e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		}
+
+		if (payslips.isEmpty())
+			return;
+
+		List<String> usernames = payslips.stream().map(ApprovedPayslip::getUsername).toList();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				approvedPayslipBatchRepository.insertAll(payslips);
+				monthlySummaryRepository.markPayslipGenerated(yearMonth.toString(), usernames, LocalDateTime.now());
+			});
+		} catch (Exception e) {
+			e.printStackTrace();
+			for (String username : usernames) {
+				run.fail(username, "Could not save payslip: " + e.getMessage());
+			}
+			return;
+		}
+		run.succeed(payslips.size());
+		for (String username : usernames) {
+			payslipPdfCache.invalidate(username, yearMonth.toString());
+		}
+
+		for (Employeedao employee : recipients) {
+			try {
+				emailService.sendPayslipApprovedEmail(employee.geteMail(), employee.geteName(), yearMonth.toString());
+			} catch (Exception e) {
+				// Log error but don’t fail the run
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private ApprovedPayslip toPayslip(String username, Employeedao employee, Bankdetails bank, PayslipFigures figures,
+			String processedAt, String month) {
+		ApprovedPayslip payslip = new ApprovedPayslip();
+		payslip.setUsername(username);
+		payslip.setMonth(month);
+		payslip.setOnboardDate(employee.getOnboard());
+		payslip.setDesignation(employee.getDesignation());
+
+		// Day counts truncate like the approval screen's parseInt; money is rounded to paise
+		payslip.setStdWorkDays((int) figures.stddays());
+		payslip.setTotalWorkingDays((int) figures.totalworked());
+		payslip.setTotalLeaves((int) (figures.totalleaves() - figures.lop()));
+		payslip.setLop(figures.lop());
+		payslip.setBasicSalary(figures.basicSalary());
+		payslip.setDeductions(round2(figures.deduction()));
+		payslip.setNetPay(round2(figures.netPay()));
+
+		payslip.setAccountHolder(bank.getAccountHolder());
+		payslip.setBankName(bank.getBankName());
+		payslip.setAccountNumber(bank.getAccountNumber());
+		payslip.setLocation("Salem");
+
+		payslip.setSalaryProcessAt(processedAt);
+		payslip.setApprovedAt(processedAt);
+		return payslip;
+	}
+
+	private double round2(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
@@ -0,0 +1,201 @@
+package timesheet.payroll;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import timesheet.payroll.dao.ApprovedPayslip;
+
+/**
+ * Rendered payslip PDFs on local disk, named by (username, month) and a hash of
+ * the payslip row, so a re-approved row can never be served from a stale file.
+ * The directory is capped in bytes and evicts least recently used files first.
+ * Only the LRU bookkeeping runs under the lock; files are read, written and
+ * deleted outside it, so downloads do not queue behind each other's disk I/O.
+ */
+@Component
+public class PayslipPdfCache {
+
+	@Value("${payroll.pdf-cache.dir:${java.io.tmpdir}/timesheet-payslips}")
+	private String directory;
+
+	@Value("${payroll.pdf-cache.max-bytes:268435456}")
+	private long maxBytes;
+
+	private Path root;
+
+	// file name -> size, in access order; guarded by lock
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalBytes;
+	private final ReentrantLock lock = new ReentrantLock();
+
+	@PostConstruct
+	void load() throws IOException {
+		root = Paths.get(directory);
+		Files.createDirectories(root);
+
+		// Rebuild the LRU order from what is already on disk, oldest first
+		List<Path> files = new ArrayList<>();
+		try (Stream<Path> listing = Files.list(root)) {
+			listing.filter(p -> p.getFileName().toString().endsWith(".pdf")).forEach(files::add);
+		}
+		files.sort(Comparator.comparingLong(p -> p.toFile().lastModified()));
+		List<String> evicted;
+		lock.lock();
+		try {
+			for (Path file : files) {
+				long size = file.toFile().length();
+				entries.put(file.getFileName().toString(), size);
+				totalBytes += size;
+			}
+			evicted = evict();
+		} finally {
+			lock.unlock();
+		}
+		evicted.forEach(this::deleteQuietly);
+	}
+
+	/** The ETag for a payslip row; changes whenever any field of the row changes. */
+	public String etag(ApprovedPayslip payslip) {
+		return "\"" + rowHash(payslip) + "\"";
+	}
+
+	public byte[] get(ApprovedPayslip payslip) {
+		String name = fileName(payslip);
+		lock.lock();
+		try {
+			if (entries.get(name) == null) // also marks the entry as recently used
+				return null;
+		} finally {
+			lock.unlock();
+		}
+		try {
+			return Files.readAllBytes(root.resolve(name));
+		} catch (IOException e) {
+			// evicted or invalidated since the lookup
+			remove(List.of(name));
+			return null;
+		}
+	}
+
+	public void put(ApprovedPayslip payslip, byte[] pdf) {
+		String name = fileName(payslip);
+		try {
+			Path tmp = Files.createTempFile(root, "payslip", ".tmp");
+			Files.write(tmp, pdf);
+			Files.move(tmp, root.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			System.err.println("⚠️ Could not cache payslip PDF " + name + ": " + e.getMessage());
+			return;
+		}
+
+		List<String> evicted;
+		lock.lock();
+		try {
+			Long previous = entries.put(name, (long) pdf.length);
+			totalBytes += pdf.length - (previous != null ? previous : 0);
+			evicted = evict();
+		} finally {
+			lock.unlock();
+		}
+		evicted.forEach(this::deleteQuietly);
+	}
+
+	/** Drops every cached rendering of the user's payslip for that month. */
+	public void invalidate(String username, String month) {
+		if (username == null || month == null)
+			return;
+		String prefix = prefix(username, month);
+		List<String> stale = new ArrayList<>();
+		lock.lock();
+		try {
+			for (String name : entries.keySet()) {
+				if (name.startsWith(prefix))
+					stale.add(name);
+			}
+		} finally {
+			lock.unlock();
+		}
+		remove(stale);
+	}
+
+	// Caller holds the lock; returns the files to delete once it is released
+	private List<String> evict() {
+		List<String> evicted = new ArrayList<>();
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while (totalBytes > maxBytes && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			evicted.add(eldest.getKey());
+			totalBytes -= eldest.getValue();
+			it.remove();
+		}
+		return evicted;
+	}
+
+	private void remove(List<String> names) {
+		lock.lock();
+		try {
+			for (String name : names) {
+				Long size = entries.remove(name);
+				if (size != null)
+					totalBytes -= size;
+			}
+		} finally {
+			lock.unlock();
+		}
+		names.forEach(this::deleteQuietly);
+	}
+
+	private void deleteQuietly(String name) {
+		try {
+			Files.deleteIfExists(root.resolve(name));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private String fileName(ApprovedPayslip payslip) {
+		return prefix(payslip.getUsername(), payslip.getMonth()) + rowHash(payslip) + ".pdf";
+	}
+
+	private String prefix(String username, String month) {
+		return sha256(username.trim() + "|" + month.trim()).substring(0, 16) + "-";
+	}
+
+	private String rowHash(ApprovedPayslip p) {
+		String row = String.join("|", String.valueOf(p.getId()), p.getUsername(), p.getMonth(), p.getOnboardDate(),
+				p.getDesignation(), String.valueOf(p.getStdWorkDays()), String.valueOf(p.getTotalLeaves()),
+				String.valueOf(p.getTotalWorkingDays()), String.valueOf(p.getLop()),
+				String.valueOf(p.getBasicSalary()), String.valueOf(p.getDeductions()),
+				String.valueOf(p.getNetPay()), p.getAccountHolder(), p.getBankName(), p.getAccountNumber(),
+				p.getLocation(), p.getSalaryProcessAt(), p.getApprovedAt());
+		return sha256(row).substring(0, 32);
+	}
+
+	private static String sha256(String value) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,264 @@
+package timesheet.payroll;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import io.micrometer.core.annotation.Timed;
+import timesheet.payroll.dao.ApprovedPayslip;
+
+/**
+ * Lays out payslip PDFs. Fonts and the decoded logo are created once and
+ * shared; only read-only copies of them reach a document, so one renderer can
+ * serve concurrent requests.
+ */
+@Component
+public class PayslipPdfRenderer {
+
+	private static final String LOGO_PATH = "static/img/logo.png";
+
+	private static final DateTimeFormatter MONTH_IN = DateTimeFormatter.ofPattern("yyyy-MM");
+	private static final DateTimeFormatter MONTH_OUT = DateTimeFormatter.ofPattern("yyyy - MMMM", Locale.ENGLISH);
+	private static final DateTimeFormatter DATE_IN = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+	private static final DateTimeFormatter DATE_OUT = DateTimeFormatter.ofPattern("dd-MMM-yyyy", Locale.ENGLISH);
+	private static final DateTimeFormatter DATE_TIME_IN = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+	private static final DateTimeFormatter DATE_TIME_OUT = DateTimeFormatter.ofPattern("dd-MMM-yyyy - hh:mm a",
+			Locale.ENGLISH);
+
+	// Fonts
+	private final Font titleFont = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+	private final Font labelFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
+	private final Font normalFont = new Font(Font.FontFamily.HELVETICA, 12);
+	private final Font smallFont = new Font(Font.FontFamily.HELVETICA, 10);
+
+	private final Image logo;
+
+	public PayslipPdfRenderer() {
+		this.logo = loadLogo();
+	}
+
+	private static Image loadLogo() {
+		try (InputStream logoStream = new ClassPathResource(LOGO_PATH).getInputStream()) {
+			Image image = Image.getInstance(logoStream.readAllBytes());
+			image.scaleToFit(100, 50);
+			image.setAlignment(Element.ALIGN_LEFT);
+			return image;
+		} catch (Exception e) {
+			System.err.println("⚠️ Payslip logo not loaded (" + LOGO_PATH + "): " + e.getMessage());
+			return null;
+		}
+	}
+
+	/** Renders one payslip as a complete PDF. The stream is left open. */
+	@Timed(value = "payslip.pdf.render", histogram = true)
+	public void render(ApprovedPayslip payslip, OutputStream out) throws DocumentException {
+		Document document = new Document();
+		PdfWriter writer = PdfWriter.getInstance(document, out);
+		writer.setCloseStream(false);
+		document.open();
+		addPayslip(document, payslip);
+		document.close();
+	}
+
+	/**
+	 * Writes one payslip onto the current page of an already open document; one
+	 * page of the merged month export.
+	 */
+	@Timed(value = "payslip.pdf.page", histogram = true)
+	public void addPayslip(Document document, ApprovedPayslip approvedPaysliprepo) throws DocumentException {
+
+		// Logo (if present)
+		if (logo != null) {
+			document.add(Image.getInstance(logo));
+		}
+
+		YearMonth ym = YearMonth.parse(approvedPaysliprepo.getMonth(), MONTH_IN);
+		String formattedMonth = ym.format(MONTH_OUT).toUpperCase();
+
+		Paragraph monthPara = new Paragraph("Payslip For " + formattedMonth, titleFont);
+		monthPara.setAlignment(Element.ALIGN_CENTER);
+		document.add(monthPara);
+		document.add(Chunk.NEWLINE);
+
+		// Employee Info
+		PdfPTable empTable = new PdfPTable(2);
+		empTable.setWidthPercentage(100);
+		empTable.setSpacingBefore(10f);
+		empTable.setSpacingAfter(10f);
+
+		empTable.addCell(createLabelCell("Name", labelFont));
+		empTable.addCell(createValueCell(approvedPaysliprepo.getUsername(), normalFont));
+
+		empTable.addCell(createLabelCell("Designation", labelFont));
+		empTable.addCell(createValueCell(approvedPaysliprepo.getDesignation(), normalFont));
+
+		empTable.addCell(createLabelCell("Bank", labelFont));
+		empTable.addCell(createValueCell(approvedPaysliprepo.getBankName(), normalFont));
+
+		empTable.addCell(createLabelCell("A/c No.", labelFont));
+		empTable.addCell(createValueCell(approvedPaysliprepo.getAccountNumber(), normalFont));
+
+		empTable.addCell(createLabelCell("DOJ", labelFont));
+		empTable.addCell(createValueCell(formatDate(approvedPaysliprepo.getOnboardDate()), normalFont));
+
+		empTable.addCell(createLabelCell("STD Days", labelFont));
+		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getStdWorkDays()), normalFont));
+
+		empTable.addCell(createLabelCell("Worked Days", labelFont));
+		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getTotalWorkingDays()), normalFont));
+
+		empTable.addCell(createLabelCell("Paid Leaves", labelFont));
+		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getTotalLeaves().intValue()), normalFont));
+
+		empTable.addCell(createLabelCell("Loss of Pay", labelFont));
+		empTable.addCell(createValueCell(String.valueOf(approvedPaysliprepo.getLop().intValue()), normalFont));
+
+		empTable.addCell(createLabelCell("Location", labelFont));
+		empTable.addCell(createValueCell(approvedPaysliprepo.getLocation(), normalFont));
+
+		document.add(empTable);
+
+		// --- Salary Split Table with Styled Layout ---
+		PdfPTable salaryTable = new PdfPTable(4);
+		salaryTable.setWidthPercentage(100);
+		salaryTable.setWidths(new float[] { 3f, 2f, 3f, 2f });
+		salaryTable.setSpacingBefore(10f);
+		salaryTable.setSpacingAfter(10f);
+
+		// Header Row
+		salaryTable.addCell(createHeaderCell("Earnings", labelFont));
+		salaryTable.addCell(createHeaderCell("Amount in ₹", labelFont));
+		salaryTable.addCell(createHeaderCell("Deductions", labelFont));
+		salaryTable.addCell(createHeaderCell("Amount in ₹", labelFont));
+
+		// Earnings and Deductions Row
+		salaryTable.addCell(createCell("Basic Salary", normalFont, Element.ALIGN_LEFT));
+		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getBasicSalary()), normalFont,
+				Element.ALIGN_RIGHT));
+		salaryTable.addCell(createCell("Deduction", normalFont, Element.ALIGN_LEFT));
+		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getDeductions()), normalFont,
+				Element.ALIGN_RIGHT));
+
+		// Gross Earnings & Deductions Row
+		salaryTable.addCell(createCell("Gross Earnings", labelFont, Element.ALIGN_LEFT));
+		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getBasicSalary()), labelFont,
+				Element.ALIGN_RIGHT));
+		salaryTable.addCell(createCell("Gross Deductions", labelFont, Element.ALIGN_LEFT));
+		salaryTable.addCell(createCell(String.format("%,.2f", approvedPaysliprepo.getDeductions()), labelFont,
+				Element.ALIGN_RIGHT));
+
+		// Net Pay row (boxed row)
+		PdfPCell netPayLabel = new PdfPCell(new Phrase("NET PAY", labelFont));
+		netPayLabel.setColspan(3);
+		netPayLabel.setHorizontalAlignment(Element.ALIGN_RIGHT);
+		netPayLabel.setPadding(8);
+		netPayLabel.setBorderWidth(1);
+		salaryTable.addCell(netPayLabel);
+
+		PdfPCell netPayValue = new PdfPCell(
+				new Phrase(String.format("%,.2f", approvedPaysliprepo.getNetPay()), labelFont));
+		netPayValue.setHorizontalAlignment(Element.ALIGN_RIGHT);
+		netPayValue.setPadding(8);
+		netPayValue.setBorderWidth(1);
+		salaryTable.addCell(netPayValue);
+
+		document.add(salaryTable);
+
+		document.add(Chunk.NEWLINE);
+
+		// Footer
+		String approvedAtFormatted = formatDateTime(approvedPaysliprepo.getApprovedAt());
+		String salaryProcessedFormatted = formatDateTime(approvedPaysliprepo.getSalaryProcessAt());
+
+		Paragraph footer = new Paragraph(
+				"Payslip Approved at: " + approvedAtFormatted + " | Salary processed at: " + salaryProcessedFormatted,
+				smallFont);
+		footer.setAlignment(Element.ALIGN_CENTER);
+		document.add(footer);
+
+		document.add(Chunk.NEWLINE);
+
+		Paragraph note = new Paragraph(
+				"** This is a computer generated payslip and does not require signature and stamp.**", smallFont);
+		note.setAlignment(Element.ALIGN_CENTER);
+		document.add(note);
+	}
+
+	// --- Helper Methods ---
+
+	private PdfPCell createLabelCell(String text, Font font) {
+		PdfPCell cell = new PdfPCell(new Phrase(text, font));
+		cell.setBorder(Rectangle.NO_BORDER);
+		cell.setPadding(5);
+		return cell;
+	}
+
+	private PdfPCell createValueCell(String text, Font font) {
+		PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
+		cell.setBorder(Rectangle.NO_BORDER);
+		cell.setPadding(5);
+		return cell;
+	}
+
+	private PdfPCell createHeaderCell(String text, Font font) {
+		PdfPCell cell = new PdfPCell(new Phrase(text, font));
+		cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+		cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+		cell.setPadding(5);
+		return cell;
+	}
+
+	private PdfPCell createCell(String text, Font font, int alignment) {
+		PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
+		cell.setHorizontalAlignment(alignment);
+		cell.setPadding(5);
+		return cell;
+	}
+
+	private String formatDate(String rawDate) {
+		try {
+			if (rawDate == null || rawDate.trim().equals("-"))
+				return "-";
+
+			return LocalDate.parse(rawDate, DATE_IN).format(DATE_OUT);
+		} catch (Exception e) {
+			return rawDate; // fallback
+		}
+	}
+
+	private String formatDateTime(String rawDateTime) {
+		try {
+			if (rawDateTime == null || rawDateTime.trim().equals("-"))
+				return "-";
+
+			// Replace the colon after the date part only if present
+			rawDateTime = rawDateTime.replaceFirst("(\\d{4}-\\d{2}-\\d{2}):", "$1");
+
+			return LocalDateTime.parse(rawDateTime.trim(), DATE_TIME_IN).format(DATE_TIME_OUT);
+		} catch (Exception e) {
+			e.printStackTrace(); // optional for debugging
+			return rawDateTime; // fallback
+		}
+	}
+}
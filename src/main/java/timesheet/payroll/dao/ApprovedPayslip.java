@@ -4,8 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = { @Index(name = "idx_payslip_user_month", columnList = "username, month"),
+		@Index(name = "idx_payslip_month", columnList = "month") })
 public class ApprovedPayslip {
 
 	@Id
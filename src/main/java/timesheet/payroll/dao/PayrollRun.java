@@ -0,0 +1,91 @@
+package timesheet.payroll.dao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one month-level payroll run. Updated by the worker threads and
+ * read by the status endpoint, so counters are atomic and the failure list is
+ * synchronized.
+ */
+public class PayrollRun {
+
+	public static final String RUNNING = "RUNNING";
+	public static final String COMPLETED = "COMPLETED";
+	public static final String FAILED = "FAILED";
+
+	private final String runId;
+	private final String month;
+	private final LocalDateTime startedAt = LocalDateTime.now();
+	private volatile LocalDateTime finishedAt;
+	private volatile String state = RUNNING;
+	private volatile int total;
+
+	private final AtomicInteger processed = new AtomicInteger();
+	private final AtomicInteger succeeded = new AtomicInteger();
+	private final List<Map<String, String>> failures = Collections.synchronizedList(new ArrayList<>());
+
+	public PayrollRun(String runId, String month) {
+		this.runId = runId;
+		this.month = month;
+	}
+
+	public void fail(String username, String reason) {
+		Map<String, String> failure = new HashMap<>();
+		failure.put("username", username);
+		failure.put("reason", reason);
+		failures.add(failure);
+		processed.incrementAndGet();
+	}
+
+	public void succeed(int count) {
+		succeeded.addAndGet(count);
+		processed.addAndGet(count);
+	}
+
+	public void finish(String finalState) {
+		this.state = finalState;
+		this.finishedAt = LocalDateTime.now();
+	}
+
+	public Map<String, Object> toMap() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("runId", runId);
+		map.put("month", month);
+		map.put("state", state);
+		map.put("total", total);
+		map.put("processed", processed.get());
+		map.put("succeeded", succeeded.get());
+		synchronized (failures) {
+			map.put("failures", new ArrayList<>(failures));
+		}
+		map.put("startedAt", startedAt.toString());
+		map.put("finishedAt", finishedAt != null ? finishedAt.toString() : null);
+		return map;
+	}
+
+	public String getRunId() {
+		return runId;
+	}
+
+	public String getMonth() {
+		return month;
+	}
+
+	public String getState() {
+		return state;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public void setTotal(int total) {
+		this.total = total;
+	}
+}
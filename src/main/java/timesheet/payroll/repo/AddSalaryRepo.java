@@ -1,15 +1,22 @@
 package timesheet.payroll.repo;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import timesheet.payroll.dao.AddSalary;
 
 @Repository
 public interface AddSalaryRepo extends JpaRepository<AddSalary, Integer> {
 
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	List<AddSalary> findByEmployeename(String employeename);
 
+	List<AddSalary> findByEmployeenameIn(Collection<String> employeenames);
+
 }
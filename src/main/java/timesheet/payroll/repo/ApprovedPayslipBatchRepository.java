@@ -0,0 +1,52 @@
+package timesheet.payroll.repo;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import timesheet.payroll.dao.ApprovedPayslip;
+
+/**
+ * JDBC batch inserts into approved_payslip for payroll runs. IDENTITY keys stop
+ * Hibernate from batching inserts, so a run writes its chunks here instead.
+ */
+@Repository
+public class ApprovedPayslipBatchRepository {
+
+	private static final int BATCH_SIZE = 200;
+
+	private static final String INSERT_PAYSLIP = "INSERT INTO approved_payslip "
+			+ "(username, month, onboard_date, designation, std_work_days, total_leaves, total_working_days, lop, "
+			+ "basic_salary, deductions, net_pay, account_holder, bank_name, account_number, location, "
+			+ "salary_process_at, approved_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public void insertAll(List<ApprovedPayslip> payslips) {
+		if (payslips.isEmpty())
+			return;
+
+		jdbcTemplate.batchUpdate(INSERT_PAYSLIP, payslips, BATCH_SIZE, (ps, p) -> {
+			ps.setString(1, p.getUsername());
+			ps.setString(2, p.getMonth());
+			ps.setString(3, p.getOnboardDate());
+			ps.setString(4, p.getDesignation());
+			ps.setObject(5, p.getStdWorkDays());
+			ps.setObject(6, p.getTotalLeaves());
+			ps.setObject(7, p.getTotalWorkingDays());
+			ps.setObject(8, p.getLop());
+			ps.setObject(9, p.getBasicSalary());
+			ps.setObject(10, p.getDeductions());
+			ps.setObject(11, p.getNetPay());
+			ps.setString(12, p.getAccountHolder());
+			ps.setString(13, p.getBankName());
+			ps.setString(14, p.getAccountNumber());
+			ps.setString(15, p.getLocation());
+			ps.setString(16, p.getSalaryProcessAt());
+			ps.setString(17, p.getApprovedAt());
+		});
+	}
+}
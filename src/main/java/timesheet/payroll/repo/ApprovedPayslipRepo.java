@@ -1,5 +1,8 @@
 package timesheet.payroll.repo;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,6 @@ import timesheet.payroll.dao.ApprovedPayslip;
 public interface ApprovedPayslipRepo extends JpaRepository<ApprovedPayslip, Long> {
 
 	ApprovedPayslip findByUsernameAndMonth(String username, String month);
+
+	List<ApprovedPayslip> findByMonthAndIdGreaterThanOrderByIdAsc(String month, Long id, Pageable pageable);
 }
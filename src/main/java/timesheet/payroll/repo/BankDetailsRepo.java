@@ -1,8 +1,12 @@
 package timesheet.payroll.repo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import timesheet.payroll.dao.Bankdetails;
@@ -14,4 +18,7 @@ public interface BankDetailsRepo extends JpaRepository<Bankdetails, Long> {
 
 	Bankdetails findByEmployeenameIgnoreCase(String username);
 
+	@Query("SELECT b FROM Bankdetails b WHERE LOWER(b.employeename) IN :names ORDER BY b.id")
+	List<Bankdetails> findByLowerEmployeenameIn(@Param("names") Collection<String> lowerCaseNames);
+
 }
@@ -1,9 +1,12 @@
 package timesheet.payroll.repo;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,4 +19,10 @@ public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary,
 
 	List<MonthlySummary> findByMonthAndIsPayslipGeneratedFalse(String month);
 
+	@Modifying
+	@Query("UPDATE MonthlySummary m SET m.isPayslipGenerated = true, m.salaryProcessedAt = :processedAt "
+			+ "WHERE m.month = :month AND m.username IN :usernames")
+	int markPayslipGenerated(@Param("month") String month, @Param("usernames") Collection<String> usernames,
+			@Param("processedAt") LocalDateTime processedAt);
+
 }
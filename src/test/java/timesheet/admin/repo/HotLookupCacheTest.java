@@ -0,0 +1,128 @@
+package timesheet.admin.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManagerFactory;
+import timesheet.admin.dao.AllowedLeaves;
+import timesheet.admin.dao.Employeedao;
+import timesheet.payroll.dao.AddSalary;
+import timesheet.payroll.repo.AddSalaryRepo;
+
+/**
+ * The repository lookups behind /getSummary (allowed leaves for the year) and
+ * /payslip/details (employee by name, salary rows) should stop reaching the
+ * database once the l2cache profile has seen them. Each call runs in its own
+ * transaction, as it does per request, so the first-level cache cannot help.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;NON_KEYWORDS=YEAR,MONTH,VALUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("l2cache")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotLookupCacheTest {
+
+	@Autowired
+	private EmployeeRepo employeeRepo;
+
+	@Autowired
+	private AllowedLeavesRepository allowedLeavesRepository;
+
+	@Autowired
+	private AddSalaryRepo addSalaryRepo;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		Employeedao employee = new Employeedao();
+		employee.seteName("asha");
+		employee.seteMail("asha@example.com");
+		employee.setOnboard("2024-04-01");
+		employeeRepo.save(employee);
+
+		allowedLeavesRepository.save(new AllowedLeaves("asha", 2025));
+
+		AddSalary salary = new AddSalary();
+		salary.setEmployeename("asha");
+		salary.setMonthsalary("50000");
+		salary.setEffectiveFrom("2024-04");
+		addSalaryRepo.save(salary);
+
+		// start cold: saving has already put the rows into their regions
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		statistics = sessionFactory.getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		addSalaryRepo.deleteAll();
+		allowedLeavesRepository.deleteAll();
+		employeeRepo.deleteAll();
+	}
+
+	@Test
+	void summaryLeaveLookupIsServedFromTheQueryCacheOnRepeat() {
+		long cold = statementsFor(() -> assertNotNull(allowedLeavesRepository.findByUsernameAndYear("asha", 2025)));
+		long warm = statementsFor(() -> assertNotNull(allowedLeavesRepository.findByUsernameAndYear("asha", 2025)));
+
+		assertTrue(cold > 0);
+		assertEquals(0, warm);
+		assertTrue(statistics.getQueryCacheHitCount() > 0);
+	}
+
+	@Test
+	void payslipLookupsAreServedFromTheCachesOnRepeat() {
+		Runnable payslipLookups = () -> {
+			assertNotNull(employeeRepo.findByeName("asha"));
+			assertEquals(1, addSalaryRepo.findByEmployeename("asha").size());
+		};
+
+		long cold = statementsFor(payslipLookups);
+		long warm = statementsFor(payslipLookups);
+
+		assertTrue(cold >= 2);
+		assertEquals(0, warm);
+		assertTrue(statistics.getQueryCacheHitCount() > 0);
+	}
+
+	@Test
+	void updatingAnEmployeeIsVisibleThroughTheCache() {
+		employeeRepo.findByeName("asha");
+
+		Employeedao employee = employeeRepo.findByeName("asha");
+		employee.setDesignation("Lead");
+		employeeRepo.save(employee);
+
+		assertEquals("Lead", employeeRepo.findByeName("asha").getDesignation());
+	}
+
+	private long statementsFor(Runnable lookups) {
+		long before = statistics.getPrepareStatementCount();
+		lookups.run();
+		return statistics.getPrepareStatementCount() - before;
+	}
+}
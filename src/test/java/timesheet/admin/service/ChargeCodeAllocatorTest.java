@@ -0,0 +1,79 @@
+package timesheet.admin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ChargeCodeAllocatorTest {
+
+	private static final int CALLERS = 64;
+	private static final int CODES_PER_CALLER = 2_000;
+
+	@Test
+	void handsOutConsecutiveCodesFromTheReservedBlock() {
+		AtomicInteger counter = new AtomicInteger(41);
+		ChargeCodeAllocator allocator = new ChargeCodeAllocator(counter::addAndGet, 5);
+
+		for (int expected = 42; expected <= 53; expected++) {
+			assertEquals(expected, allocator.next());
+		}
+		assertEquals(56, counter.get()); // three blocks of five reserved
+	}
+
+	@Test
+	void noDuplicatesUnderParallelCallers() throws Exception {
+		// the database row, shared by two application instances
+		AtomicInteger counter = new AtomicInteger();
+		AtomicInteger reservations = new AtomicInteger();
+		ChargeCodeAllocator.BlockReserver database = size -> {
+			reservations.incrementAndGet();
+			Thread.yield();
+			return counter.addAndGet(size);
+		};
+		ChargeCodeAllocator first = new ChargeCodeAllocator(database, 16);
+		ChargeCodeAllocator second = new ChargeCodeAllocator(database, 16);
+
+		Set<Integer> seen = ConcurrentHashMap.newKeySet();
+		AtomicInteger duplicates = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+		try {
+			List<Future<?>> callers = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				ChargeCodeAllocator allocator = i % 2 == 0 ? first : second;
+				callers.add(pool.submit(() -> {
+					start.await();
+					for (int n = 0; n < CODES_PER_CALLER; n++) {
+						if (!seen.add(allocator.next()))
+							duplicates.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> caller : callers) {
+				caller.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(0, duplicates.get());
+		assertEquals(CALLERS * CODES_PER_CALLER, seen.size());
+		// one round trip per block, not per code
+		assertTrue(reservations.get() <= CALLERS * CODES_PER_CALLER / 16 + 2);
+		assertTrue(seen.stream().allMatch(code -> code >= 1 && code <= counter.get()));
+	}
+}
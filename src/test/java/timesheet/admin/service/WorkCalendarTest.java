@@ -0,0 +1,67 @@
+package timesheet.admin.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class WorkCalendarTest {
+
+	private final List<LocalDate> holidays = List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 26),
+			LocalDate.of(2025, 8, 15), LocalDate.of(2024, 12, 25));
+
+	private final WorkCalendar.Table calendar = WorkCalendar.Table.of(holidays);
+
+	@Test
+	void countsMatchADayByDayWalk() {
+		LocalDate from = LocalDate.of(2024, 11, 20);
+		LocalDate to = LocalDate.of(2025, 9, 3);
+
+		int sundays = 0, holidayCount = 0, working = 0;
+		for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+			boolean sunday = d.getDayOfWeek() == DayOfWeek.SUNDAY;
+			boolean holiday = holidays.contains(d);
+			if (sunday)
+				sundays++;
+			if (holiday)
+				holidayCount++;
+			if (!sunday && !holiday)
+				working++;
+		}
+
+		assertEquals(sundays, calendar.sundays(from, to));
+		assertEquals(holidayCount, calendar.holidays(from, to));
+		assertEquals(working, calendar.workingDays(from, to));
+	}
+
+	@Test
+	void holidayOnSundayCountsInBothTotals() {
+		// 26 Jan 2025 is a Sunday
+		LocalDate day = LocalDate.of(2025, 1, 26);
+		assertEquals(1, calendar.sundays(day, day));
+		assertEquals(1, calendar.holidays(day, day));
+		assertEquals(0, calendar.workingDays(day, day));
+	}
+
+	@Test
+	void onboardingCutoffCountsFromJoiningDate() {
+		// January 2025: 4 Sundays and 2 holidays, but only 2 Sundays from the 15th on
+		LocalDate monthEnd = LocalDate.of(2025, 1, 31);
+		assertEquals(4, calendar.sundays(LocalDate.of(2025, 1, 1), monthEnd));
+		assertEquals(2, calendar.sundays(LocalDate.of(2025, 1, 15), monthEnd));
+		assertEquals(1, calendar.holidays(LocalDate.of(2025, 1, 15), monthEnd));
+	}
+
+	@Test
+	void workingDayLookups() {
+		assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 8, 15)));
+		assertFalse(calendar.isWorkingDay(LocalDate.of(2025, 8, 17)));
+		assertTrue(calendar.isWorkingDay(LocalDate.of(2025, 8, 18)));
+		assertEquals(0, calendar.workingDays(LocalDate.of(2025, 8, 18), LocalDate.of(2025, 8, 17)));
+	}
+}
@@ -0,0 +1,90 @@
+package timesheet.changePassword;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import timesheet.changePassword.OtpStore.IssueResult;
+
+class InMemoryOtpStoreTest {
+
+	private static final long TTL = 120_000;
+	private static final long RESEND = 30_000;
+
+	@Test
+	void resendIsThrottledUntilTheIntervalPasses() {
+		InMemoryOtpStore store = new InMemoryOtpStore(10);
+
+		assertEquals(IssueResult.ISSUED, store.issue("a@x", entry("111111", 0), RESEND));
+		assertEquals(IssueResult.TOO_SOON, store.issue("a@x", entry("222222", 10_000), RESEND));
+		assertEquals("111111", store.get("a@x", 10_000).otp());
+
+		assertEquals(IssueResult.ISSUED, store.issue("a@x", entry("333333", 30_000), RESEND));
+		assertEquals("333333", store.get("a@x", 30_000).otp());
+	}
+
+	@Test
+	void expiredEntriesAreHiddenAndSwept() {
+		InMemoryOtpStore store = new InMemoryOtpStore(10);
+		store.issue("a@x", entry("111111", 0), RESEND);
+		store.issue("b@x", entry("222222", 60_000), RESEND);
+
+		assertNull(store.get("a@x", TTL + 1));
+		assertEquals(0, store.sweepExpired(TTL + 1)); // a@x already dropped by get
+		assertEquals(1, store.sweepExpired(60_000 + TTL + 1));
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void refusesNewKeysWhenFullOfLiveEntries() {
+		InMemoryOtpStore store = new InMemoryOtpStore(2);
+		store.issue("a@x", entry("111111", 0), RESEND);
+		store.issue("b@x", entry("222222", 0), RESEND);
+
+		assertEquals(IssueResult.FULL, store.issue("c@x", entry("333333", 1_000), RESEND));
+		// expired entries make room
+		assertEquals(IssueResult.ISSUED, store.issue("c@x", entry("333333", TTL + 1), RESEND));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void onlyOneOfManyConcurrentRequestsIsIssued() throws Exception {
+		InMemoryOtpStore store = new InMemoryOtpStore(100);
+		AtomicInteger issued = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(32);
+		try {
+			List<Future<?>> callers = new ArrayList<>();
+			for (int i = 0; i < 32; i++) {
+				String otp = String.valueOf(100000 + i);
+				callers.add(pool.submit(() -> {
+					start.await();
+					if (store.issue("a@x", entry(otp, 5_000), RESEND) == IssueResult.ISSUED)
+						issued.incrementAndGet();
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> caller : callers) {
+				caller.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, issued.get());
+	}
+
+	private static OtpEntry entry(String otp, long issuedAt) {
+		return new OtpEntry(otp, issuedAt, issuedAt + TTL);
+	}
+}
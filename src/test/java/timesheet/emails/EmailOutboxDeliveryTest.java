@@ -0,0 +1,163 @@
+package timesheet.emails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import timesheet.WorkerThreads;
+import timesheet.emails.dao.EmailModel;
+import timesheet.emails.dao.EmailOutbox;
+import timesheet.emails.repo.EmailOutboxRepository;
+
+/**
+ * enqueue -> dispatch -> retry against a GreenMail SMTP server. Dispatch is
+ * driven by hand; the scheduled poll is pushed out of the way. The SMTP server
+ * starts only after the first attempt, so that attempt fails and is retried.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;NON_KEYWORDS=YEAR,MONTH,VALUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"email.outbox.poll-ms=3600000",
+		"email.outbox.backoff-seconds=0",
+		"email.outbox.max-attempts=3" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ EmailOutboxService.class, EmailDispatcher.class, EmailTemplates.class, WorkerThreads.class,
+		EmailOutboxDeliveryTest.Smtp.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDeliveryTest {
+
+	@TestConfiguration
+	static class Smtp {
+
+		@Bean
+		JavaMailSender javaMailSender() {
+			JavaMailSenderImpl sender = new JavaMailSenderImpl();
+			sender.setHost("localhost");
+			sender.setPort(ServerSetupTest.SMTP.getPort());
+			return sender;
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private EmailOutboxService emailOutboxService;
+
+	@Autowired
+	private EmailDispatcher emailDispatcher;
+
+	@Autowired
+	private EmailOutboxRepository emailOutboxRepository;
+
+	private GreenMail greenMail;
+
+	@AfterEach
+	void cleanUp() {
+		if (greenMail != null)
+			greenMail.stop();
+		emailOutboxRepository.deleteAll();
+	}
+
+	@Test
+	void failedSendIsRetriedAndTheBodyIsDroppedOnceSent() throws Exception {
+		EmailOutbox queued = emailOutboxService.enqueue("asha@example.com", new EmailModel.Otp("Asha", "482913"));
+
+		emailDispatcher.dispatch(); // no SMTP server yet
+
+		EmailOutbox retrying = emailOutboxRepository.findById(queued.getId()).orElseThrow();
+		assertEquals(EmailOutbox.PENDING, retrying.getStatus());
+		assertEquals(1, retrying.getAttempts());
+		assertTrue(retrying.getHtmlBody().contains("482913"));
+
+		greenMail = new GreenMail(ServerSetupTest.SMTP);
+		greenMail.start();
+		emailDispatcher.dispatch();
+
+		MimeMessage[] received = greenMail.getReceivedMessages();
+		assertEquals(1, received.length);
+		assertEquals("asha@example.com", received[0].getAllRecipients()[0].toString());
+		assertTrue(GreenMailUtil.getBody(received[0]).contains("482913"));
+		assertTrue(GreenMailUtil.getWholeMessage(received[0]).contains("Content-ID: <logoImage>"),
+				"the template's cid:logoImage must have the packaged logo attached");
+
+		EmailOutbox sent = emailOutboxRepository.findById(queued.getId()).orElseThrow();
+		assertEquals(EmailOutbox.SENT, sent.getStatus());
+		assertNull(sent.getHtmlBody());
+		assertNull(sent.getClaimedBy());
+	}
+
+	@Test
+	void rowsClaimedByAnotherNodeAreNotSent() {
+		greenMail = new GreenMail(ServerSetupTest.SMTP);
+		greenMail.start();
+		EmailOutbox theirs = emailOutboxService.enqueue("ravi@example.com", "Theirs", "<p>theirs</p>");
+		EmailOutbox ours = emailOutboxService.enqueue("meena@example.com", "Ours", "<p>ours</p>");
+		emailOutboxRepository.claim(List.of(theirs.getId()), "other-node", LocalDateTime.now());
+
+		emailDispatcher.dispatch();
+
+		assertEquals(1, greenMail.getReceivedMessages().length);
+		assertEquals(EmailOutbox.SENT, emailOutboxRepository.findById(ours.getId()).orElseThrow().getStatus());
+		EmailOutbox untouched = emailOutboxRepository.findById(theirs.getId()).orElseThrow();
+		assertEquals(EmailOutbox.SENDING, untouched.getStatus());
+		assertEquals("other-node", untouched.getClaimedBy());
+	}
+
+	@Test
+	void onlyStaleClaimsAreReleased() {
+		EmailOutbox live = emailOutboxService.enqueue("ravi@example.com", "Live", "<p>live</p>");
+		EmailOutbox stale = emailOutboxService.enqueue("meena@example.com", "Stale", "<p>stale</p>");
+		emailOutboxRepository.claim(List.of(live.getId()), "live-node", LocalDateTime.now());
+		emailOutboxRepository.claim(List.of(stale.getId()), "dead-node", LocalDateTime.now().minusHours(1));
+
+		emailDispatcher.releaseStaleClaims();
+
+		assertEquals(EmailOutbox.SENDING, emailOutboxRepository.findById(live.getId()).orElseThrow().getStatus());
+		assertEquals(EmailOutbox.PENDING, emailOutboxRepository.findById(stale.getId()).orElseThrow().getStatus());
+	}
+
+	@Test
+	void bodyIsDroppedWhenDeliveryIsAbandoned() {
+		EmailOutbox queued = emailOutboxService.enqueue("asha@example.com",
+				new EmailModel.Welcome("Asha", "asha@example.com", "s3cret!", "Engineer", "Employee"));
+
+		for (int attempt = 0; attempt < 3; attempt++) {
+			emailDispatcher.dispatch(); // no SMTP server
+		}
+
+		EmailOutbox failed = emailOutboxRepository.findById(queued.getId()).orElseThrow();
+		assertEquals(EmailOutbox.FAILED, failed.getStatus());
+		assertEquals(3, failed.getAttempts());
+		assertNull(failed.getHtmlBody());
+	}
+}
@@ -0,0 +1,80 @@
+package timesheet.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class RequestQueriesTest {
+
+	@AfterEach
+	void clear() {
+		RequestQueries.end();
+	}
+
+	@Test
+	void repeatedStatementsRankFirst() {
+		RequestQueries queries = RequestQueries.begin();
+		RequestQueries.record("select * from employee_details where e_name=?");
+		for (int i = 0; i < 3; i++) {
+			RequestQueries.record("select * from allowed_leaves where username=?");
+		}
+		RequestQueries.record("update allowed_leaves set sick_taken=? where id=?");
+
+		List<Map.Entry<String, Integer>> top = queries.top(2);
+
+		assertEquals(5, queries.count());
+		assertEquals(2, top.size());
+		assertEquals("select * from allowed_leaves where username=?", top.get(0).getKey());
+		assertEquals(3, top.get(0).getValue());
+	}
+
+	@Test
+	void statementsOutsideARequestAreNotCounted() {
+		RequestQueries.record("select 1");
+
+		RequestQueries queries = RequestQueries.begin();
+		RequestQueries.end();
+		RequestQueries.record("select 2");
+
+		assertEquals(0, queries.count());
+	}
+
+	@Test
+	void distinctStatementsAreCappedButAllAreCounted() {
+		RequestQueries queries = RequestQueries.begin();
+		for (int i = 0; i < 500; i++) {
+			RequestQueries.record("select * from timesheet_entries where id=" + i);
+		}
+
+		assertEquals(500, queries.count());
+		assertEquals(200, queries.top(1000).size());
+	}
+
+	@Test
+	void jdbcTemplateStatementsAreCountedAtTheDataSource() {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1");
+		DataSource dataSource = (DataSource) new QueryCountingDataSource().postProcessAfterInitialization(h2,
+				"dataSource");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS counted (id INT)");
+
+		RequestQueries queries = RequestQueries.begin();
+		jdbcTemplate.batchUpdate("INSERT INTO counted (id) VALUES (?)", List.of(1, 2, 3), 2,
+				(ps, id) -> ps.setInt(1, id));
+		jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counted", Integer.class);
+		jdbcTemplate.update("DELETE FROM counted");
+
+		// one prepare for the whole batch, one plain statement, one prepared update
+		assertEquals(3, queries.count());
+		assertEquals(3, queries.top(5).size());
+	}
+}
@@ -0,0 +1,154 @@
+package timesheet.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+/**
+ * Two nodes in websocket.broker=relay mode against an in-JVM Artemis STOMP
+ * broker: a notification published on one node reaches a user whose SockJS
+ * session is held by the other. Each node is only the web server and
+ * WebSocketConfig, started on a random port.
+ */
+class NotificationRelayTest {
+
+	@TempDir
+	static Path brokerDir;
+
+	private static EmbeddedActiveMQ broker;
+	private static int stompPort;
+
+	private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+	private WebSocketStompClient stompClient;
+
+	@SpringBootConfiguration
+	@ImportAutoConfiguration({ ServletWebServerFactoryAutoConfiguration.class,
+			DispatcherServletAutoConfiguration.class, WebSocketServletAutoConfiguration.class,
+			JacksonAutoConfiguration.class })
+	@Import(WebSocketConfig.class)
+	static class Node {
+	}
+
+	@BeforeAll
+	static void startBroker() throws Exception {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			stompPort = socket.getLocalPort();
+		}
+		ConfigurationImpl config = new ConfigurationImpl();
+		config.setPersistenceEnabled(false);
+		config.setSecurityEnabled(false);
+		config.setBrokerInstance(brokerDir.toFile());
+		// /topic/x is a multicast address, as it is on RabbitMQ
+		config.addAcceptorConfiguration("stomp",
+				"tcp://127.0.0.1:" + stompPort + "?protocols=STOMP;multicastPrefix=/topic/");
+
+		broker = new EmbeddedActiveMQ();
+		broker.setConfiguration(config);
+		broker.start();
+	}
+
+	@AfterAll
+	static void stopBroker() throws Exception {
+		broker.stop();
+	}
+
+	@AfterEach
+	void stopNodes() {
+		if (stompClient != null)
+			stompClient.stop();
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	void notificationPublishedOnOneNodeReachesAUserConnectedToAnother() throws Exception {
+		ConfigurableApplicationContext publisher = startNode();
+		ConfigurableApplicationContext holder = startNode();
+
+		stompClient = new WebSocketStompClient(
+				new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+		stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+		StompSession session = stompClient
+				.connectAsync("http://localhost:" + port(holder) + "/ws", new StompSessionHandlerAdapter() {
+				}).get(10, TimeUnit.SECONDS);
+
+		CompletableFuture<Map<?, ?>> received = new CompletableFuture<>();
+		CountDownLatch subscribed = new CountDownLatch(1);
+		session.setAutoReceipt(true);
+		session.subscribe(NotificationService.userTopic("asha"), new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return Map.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				received.complete((Map<?, ?>) payload);
+			}
+		}).addReceiptTask(subscribed::countDown);
+		assertTrue(subscribed.await(10, TimeUnit.SECONDS), "the broker never confirmed the subscription");
+
+		publisher.getBean(SimpMessagingTemplate.class).convertAndSend(NotificationService.userTopic("asha"),
+				Map.of("message", "Timesheet approved"));
+
+		assertEquals("Timesheet approved", received.get(10, TimeUnit.SECONDS).get("message"));
+	}
+
+	// command-line arguments, so they win over application.properties
+	private ConfigurableApplicationContext startNode() throws InterruptedException {
+		ConfigurableApplicationContext node = new SpringApplicationBuilder(Node.class).run("--server.port=0",
+				"--websocket.broker=relay", "--websocket.relay.host=127.0.0.1",
+				"--websocket.relay.port=" + stompPort, "--spring.main.banner-mode=off");
+		nodes.add(node);
+
+		AbstractBrokerMessageHandler relay = node.getBean("stompBrokerRelayMessageHandler",
+				AbstractBrokerMessageHandler.class);
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue(relay.isBrokerAvailable(), "the relay never connected to the broker");
+		return node;
+	}
+
+	private static int port(ConfigurableApplicationContext node) {
+		return ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+	}
+}
@@ -0,0 +1,193 @@
+package timesheet.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Unread paging, bulk mark-read and the retention purge against H2 in MySQL
+ * mode. Paging goes through the controller so the nextCursor boundary (the
+ * one extra row) is covered together with the keyset query.
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:notifications;MODE=MySQL;NON_KEYWORDS=YEAR,MONTH,VALUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"notifications.retention-days=90" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ NotificationController.class, NotificationRetentionJob.class, NotificationBatchRepository.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationRepositoryTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private NotificationBatchRepository notificationBatchRepository;
+
+	@Autowired
+	private NotificationController notificationController;
+
+	@Autowired
+	private NotificationRetentionJob notificationRetentionJob;
+
+	@AfterEach
+	void cleanUp() {
+		notificationRepository.deleteAll();
+	}
+
+	@Test
+	void pagesWalkTimestampTiesWithoutGapsOrRepeats() {
+		// five share one timestamp, so only the id orders them
+		for (int i = 0; i < 5; i++) {
+			save("asha", NOW, false);
+		}
+		save("asha", NOW.minusMinutes(1), false);
+		save("asha", NOW.minusMinutes(1), false);
+		save("asha", NOW.plusMinutes(1), true);
+		save("ravi", NOW, false);
+
+		List<Long> expected = notificationRepository.findByUsernameAndReadedFalse("asha").stream()
+				.sorted(Comparator.comparing(Notificationdao::getTimestamp).thenComparing(Notificationdao::getId)
+						.reversed())
+				.map(Notificationdao::getId).toList();
+
+		List<Long> walked = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			Map<String, Object> page = page("asha", cursor, 2);
+			for (Notificationdao notification : items(page)) {
+				walked.add(notification.getId());
+			}
+			cursor = (String) page.get("nextCursor");
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(7, expected.size());
+		assertEquals(expected, walked);
+		assertEquals(4, pages);
+	}
+
+	@Test
+	void nextCursorIsNullOnlyWhenNothingIsLeft() {
+		for (int i = 0; i < 4; i++) {
+			save("asha", NOW.minusMinutes(i), false);
+		}
+
+		Map<String, Object> exact = page("asha", null, 4);
+		assertEquals(4, items(exact).size());
+		assertNull(exact.get("nextCursor"));
+
+		Map<String, Object> first = page("asha", null, 3);
+		assertEquals(3, items(first).size());
+		assertNotNull(first.get("nextCursor"));
+
+		Map<String, Object> last = page("asha", (String) first.get("nextCursor"), 3);
+		assertEquals(1, items(last).size());
+		assertEquals(NOW.minusMinutes(3), items(last).get(0).getTimestamp());
+		assertNull(last.get("nextCursor"));
+	}
+
+	@Test
+	void markReadOnlyTouchesTheNamedUsersRows() {
+		Notificationdao mine = save("asha", NOW, false);
+		Notificationdao alreadyRead = save("asha", NOW, true);
+		Notificationdao theirs = save("ravi", NOW, false);
+
+		int updated = notificationRepository.markRead("asha",
+				List.of(mine.getId(), alreadyRead.getId(), theirs.getId()));
+
+		assertEquals(1, updated);
+		assertTrue(reload(mine).isReaded());
+		assertFalse(reload(theirs).isReaded());
+	}
+
+	@Test
+	void markAllReadUpToStopsAtTheGivenIdAndTheUser() {
+		Notificationdao older = save("asha", NOW.minusMinutes(2), false);
+		Notificationdao theirs = save("ravi", NOW.minusMinutes(1), false);
+		Notificationdao upTo = save("asha", NOW.minusMinutes(1), false);
+		Notificationdao newer = save("asha", NOW, false);
+
+		int updated = notificationRepository.markAllReadUpTo("asha", upTo.getId());
+
+		assertEquals(2, updated);
+		assertTrue(reload(older).isReaded());
+		assertTrue(reload(upTo).isReaded());
+		assertFalse(reload(newer).isReaded());
+		assertFalse(reload(theirs).isReaded());
+		assertEquals(1, notificationRepository.countByUsernameAndReadedFalse("asha"));
+	}
+
+	@Test
+	void purgeDeletesOldReadRowsAcrossSeveralBatches() {
+		// more than two 1000-row batches, so the loop has to go round
+		List<Notificationdao> old = new ArrayList<>();
+		for (int i = 0; i < 2500; i++) {
+			old.add(row("asha", NOW.minusDays(120), true));
+		}
+		notificationBatchRepository.insertAll(old);
+		Notificationdao oldUnread = save("asha", NOW.minusDays(120), false);
+		Notificationdao recentRead = save("asha", NOW.minusDays(10), true);
+
+		notificationRetentionJob.purgeOldReadNotifications();
+
+		assertEquals(2, notificationRepository.count());
+		assertTrue(notificationRepository.existsById(oldUnread.getId()));
+		assertTrue(notificationRepository.existsById(recentRead.getId()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> page(String username, String cursor, int size) {
+		ResponseEntity<?> response = notificationController.getUnreadPage(username, cursor, size);
+		assertEquals(200, response.getStatusCode().value());
+		return (Map<String, Object>) response.getBody();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Notificationdao> items(Map<String, Object> page) {
+		return (List<Notificationdao>) page.get("items");
+	}
+
+	private Notificationdao save(String username, LocalDateTime timestamp, boolean read) {
+		return notificationRepository.save(row(username, timestamp, read));
+	}
+
+	private Notificationdao reload(Notificationdao notification) {
+		return notificationRepository.findById(notification.getId()).orElseThrow();
+	}
+
+	private static Notificationdao row(String username, LocalDateTime timestamp, boolean read) {
+		Notificationdao notification = new Notificationdao();
+		notification.setUsername(username);
+		notification.setMessage("Timesheet approved");
+		notification.setTimestamp(timestamp);
+		notification.setReaded(read);
+		return notification;
+	}
+}
@@ -0,0 +1,186 @@
+package timesheet.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import timesheet.WorkerThreads;
+
+/**
+ * The buffered NotificationService against an in-memory repository and a
+ * recording message channel. Flushes are driven by hand; stop() waits for the
+ * push thread, so pushes are complete once it returns.
+ */
+class NotificationServiceTest {
+
+	// store and push events in the order they happened
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+	private final List<Map<?, ?>> pushed = Collections.synchronizedList(new ArrayList<>());
+	private final List<Notificationdao> stored = Collections.synchronizedList(new ArrayList<>());
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private int failuresLeft;
+	private NotificationService service;
+
+	private final NotificationBatchRepository repository = new NotificationBatchRepository() {
+		@Override
+		public void insertAll(List<Notificationdao> notifications) {
+			if (failuresLeft-- > 0)
+				throw new DataAccessResourceFailureException("database down");
+			stored.addAll(notifications);
+			events.add("store " + notifications.size());
+		}
+	};
+
+	private final SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+		events.add("push " + SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+		pushed.add((Map<?, ?>) message.getPayload());
+		return true;
+	});
+
+	@AfterEach
+	void stopService() throws InterruptedException {
+		failuresLeft = 0;
+		if (service != null)
+			service.stop();
+	}
+
+	@Test
+	void batchIsStoredOnceThenPushed() throws InterruptedException {
+		start(100, 500, 5);
+		service.sendNotification("asha", "Timesheet approved");
+		service.sendNotification("ravi", "Timesheet rejected");
+
+		service.flush();
+		stop();
+
+		assertEquals(List.of("store 2", "push " + NotificationService.userTopic("asha"),
+				"push " + NotificationService.userTopic("ravi")), events);
+		assertEquals("Timesheet approved", pushed.get(0).get("message"));
+	}
+
+	@Test
+	void failedBatchIsRequeuedAndPushedOnlyOnceStored() throws InterruptedException {
+		start(100, 500, 5);
+		failuresLeft = 1;
+		service.sendNotification("asha", "Timesheet approved");
+
+		service.flush();
+		assertTrue(events.isEmpty());
+		assertEquals(1, counter("notifications.persist.failures"));
+		assertEquals(1, counter("notifications.retried"));
+
+		service.flush(); // backoff is 0 in this test
+		stop();
+
+		assertEquals(List.of("store 1", "push " + NotificationService.userTopic("asha")), events);
+		assertEquals(0, counter("notifications.dropped"));
+	}
+
+	@Test
+	void notificationIsDroppedAfterMaxAttempts() throws InterruptedException {
+		start(100, 500, 2);
+		failuresLeft = Integer.MAX_VALUE;
+		service.sendNotification("asha", "Timesheet approved");
+
+		service.flush();
+		service.flush();
+		stop();
+
+		assertTrue(events.isEmpty());
+		assertEquals(1, counter("notifications.retried"));
+		assertEquals(1, counter("notifications.dropped"));
+	}
+
+	@Test
+	void adminBurstIsPushedAsOneDigestButStoredRowByRow() throws InterruptedException {
+		start(100, 500, 5);
+		for (int i = 1; i <= 3; i++) {
+			service.sendAdminNotification("Timesheet " + i + " submitted");
+		}
+
+		service.flush();
+		stop();
+
+		assertEquals(3, stored.size());
+		assertEquals(1, pushed.size());
+		assertEquals(3, pushed.get(0).get("count"));
+		assertEquals(1, counter("notifications.admin.digests"));
+	}
+
+	@Test
+	void adminNotificationsBelowTheThresholdArePushedOneByOne() throws InterruptedException {
+		start(100, 500, 5);
+		service.sendAdminNotification("Timesheet 1 submitted");
+		service.sendAdminNotification("Timesheet 2 submitted");
+
+		service.flush();
+		stop();
+
+		assertEquals(2, pushed.size());
+		assertEquals("Timesheet 2 submitted", pushed.get(1).get("message"));
+		assertEquals(0, counter("notifications.admin.digests"));
+	}
+
+	@Test
+	void fullBufferStoresOnTheCallersThread() throws InterruptedException {
+		start(1, 500, 5);
+		service.sendNotification("asha", "queued");
+		service.sendNotification("ravi", "inline");
+
+		assertEquals("store 1", events.get(0));
+		assertEquals("inline", stored.get(0).getMessage());
+		assertEquals(1, counter("notifications.inline.fallbacks"));
+
+		failuresLeft = 1;
+		assertThrows(DataAccessResourceFailureException.class, () -> service.sendNotification("meena", "lost"));
+	}
+
+	@Test
+	void shutdownDrainsTheWholeBuffer() throws InterruptedException {
+		start(100, 2, 5);
+		for (int i = 0; i < 5; i++) {
+			service.sendNotification("asha", "notification " + i);
+		}
+
+		stop();
+
+		assertEquals(5, stored.size());
+		assertEquals(5, pushed.size());
+		assertEquals(List.of("store 2", "store 2", "store 1"),
+				events.stream().filter(event -> event.startsWith("store")).toList());
+	}
+
+	private void start(int queueCapacity, int batchSize, int maxAttempts) {
+		service = new NotificationService(messagingTemplate, repository, new WorkerThreads(), meterRegistry);
+		ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(service, "batchSize", batchSize);
+		ReflectionTestUtils.setField(service, "adminDigestThreshold", 3);
+		ReflectionTestUtils.setField(service, "maxAttempts", maxAttempts);
+		ReflectionTestUtils.setField(service, "retryBackoffMs", 0L);
+		service.start();
+	}
+
+	private void stop() throws InterruptedException {
+		service.stop();
+		service = null;
+	}
+
+	private double counter(String name) {
+		return meterRegistry.counter(name).count();
+	}
+}